@@ -0,0 +1,41 @@
+package com.microservice.user_service.config;
+
+import com.microservice.user_service.service.FoodInvalidationBus;
+import com.microservice.user_service.service.InProcessFoodInvalidationBus;
+import com.microservice.user_service.service.MongoFoodInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class FoodCacheConfig {
+
+    @Value("${food.cache.invalidation.bus:mongo}")
+    private String bus;
+
+    @Value("${food.cache.invalidation.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${food.cache.invalidation.overlap:10000}")
+    private long overlapMillis;
+
+    @Value("${food.cache.invalidation.retention:3600000}")
+    private long retentionMillis;
+
+    /**
+     * Replicas share invalidations through Mongo by default; {@code in-process} is enough for
+     * a single instance.
+     */
+    @Bean
+    public FoodInvalidationBus foodInvalidationBus(MongoTemplate mongoTemplate) {
+        if ("in-process".equalsIgnoreCase(bus)) {
+            return new InProcessFoodInvalidationBus();
+        }
+        return new MongoFoodInvalidationBus(mongoTemplate, Clock.systemUTC(), maxBatchSize,
+                Duration.ofMillis(overlapMillis), Duration.ofMillis(retentionMillis));
+    }
+}
@@ -0,0 +1,62 @@
+package com.microservice.user_service.config;
+
+import com.microservice.user_service.model.Food;
+import com.microservice.user_service.model.FoodInvalidationBatch;
+import com.microservice.user_service.model.RefreshToken;
+import com.microservice.user_service.model.RevokedToken;
+import com.microservice.user_service.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared on the document classes. Automatic index creation is off
+ * by default in Spring Data MongoDB, so they are ensured explicitly once the application is up.
+ * Indexes on collections that may already hold data are declared with {@code background}
+ * so building them does not lock the collection on servers that still honour the option.
+ */
+@Configuration
+public class MongoIndexConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexConfig.class);
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(
+            RefreshToken.class,
+            RevokedToken.class,
+            User.class,
+            Food.class,
+            FoodInvalidationBatch.class
+    );
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(
+                mongoTemplate.getConverter().getMappingContext());
+
+        for (Class<?> documentClass : INDEXED_DOCUMENTS) {
+            IndexOperations indexOperations = mongoTemplate.indexOps(documentClass);
+            resolver.resolveIndexFor(documentClass).forEach(index -> {
+                try {
+                    indexOperations.ensureIndex(index);
+                } catch (RuntimeException e) {
+                    logger.error("Unable to create index {} on {}: {}",
+                            index.getIndexKeys(), documentClass.getSimpleName(), e.getMessage());
+                }
+            });
+        }
+    }
+}
@@ -1,20 +1,43 @@
 package com.microservice.user_service.config;
 
+import com.microservice.user_service.util.BcryptCostCalibrator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
 @Configuration
 public class SecurityBeansConfig {
-    
-    @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-    
+
+    @Value("${password-hashing.bcrypt.strength:0}")
+    private int bcryptStrength;
+
+    @Value("${password-hashing.bcrypt.target-millis:250}")
+    private long bcryptTargetMillis;
+
+    @Value("${password-hashing.bcrypt.min-strength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${password-hashing.bcrypt.max-strength:16}")
+    private int bcryptMaxStrength;
+
+    /**
+     * New hashes are written as {@code {bcrypt}...} at the configured or calibrated cost.
+     * Hashes stored before the prefix existed are plain bcrypt and are still matched.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return bCryptPasswordEncoder();
+        int strength = bcryptStrength > 0
+                ? bcryptStrength
+                : BcryptCostCalibrator.calibrate(bcryptTargetMillis, bcryptMinStrength, bcryptMaxStrength);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,10 @@
 package com.microservice.user_service.config;
 
+import com.microservice.user_service.config.filter.AuthPolicy;
 import com.microservice.user_service.config.filter.CompositeAuthenticationFilter;
+import com.microservice.user_service.config.filter.RouteClassifier;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -33,21 +37,39 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .addFilterBefore(compositeAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/auth/**").permitAll()
-                .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                // Streamed and async responses were authorized on their initial dispatch
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                .requestMatchers(unauthenticatedPatterns()).permitAll()
                 .anyRequest().authenticated()
             );
         
         return http.build();
     }
 
+    // Keep the filter out of the servlet container's own chain; it only runs inside Spring Security
+    @Bean
+    public FilterRegistrationBean<CompositeAuthenticationFilter> compositeAuthenticationFilterRegistration() {
+        FilterRegistrationBean<CompositeAuthenticationFilter> registration =
+                new FilterRegistrationBean<>(compositeAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    // Routes that never reach the JWT check cannot require an authenticated principal
+    private static String[] unauthenticatedPatterns() {
+        return RouteClassifier.getRoutes().entrySet().stream()
+                .filter(route -> route.getValue() != AuthPolicy.API_KEY_AND_JWT)
+                .map(route -> route.getKey().endsWith("/") ? route.getKey() + "**" : route.getKey())
+                .toArray(String[]::new);
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("*"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "X-API-Key"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "X-API-Key", "X-Next-Cursor", "ETag"));
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -1,7 +1,5 @@
 package com.microservice.user_service.config.filter;
 
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,25 +7,37 @@ import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 
+/**
+ * Checks the {@code X-API-Key} header. Invoked by {@link CompositeAuthenticationFilter}
+ * for routes whose policy requires an API key.
+ */
 @Component
-public class ApiKeyAuthFilter extends BaseAuthenticationFilter {
+public class ApiKeyAuthFilter {
 
     @Value("${api.key}")
     private String apiKey;
 
-    @Override
-    protected void doAuthenticate(HttpServletRequest request,
-                                HttpServletResponse response,
-                                FilterChain filterChain) throws ServletException, IOException {
+    private final RateLimiter rateLimiter;
+
+    public ApiKeyAuthFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * @return True if the request carries the API key and is within the key's rate limit;
+     *         otherwise a 401 or 429 has been written.
+     */
+    public boolean authenticate(HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
         
         String requestApiKey = request.getHeader("X-API-Key");
 
         if (requestApiKey == null || !requestApiKey.equals(apiKey)) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("Invalid API Key");
-            return;
+            return false;
         }
 
-        filterChain.doFilter(request, response);
+        return rateLimiter.tryAcquireForApiKey(requestApiKey, response);
     }
 }
@@ -0,0 +1,10 @@
+package com.microservice.user_service.config.filter;
+
+/**
+ * The credentials a route requires.
+ */
+public enum AuthPolicy {
+    PUBLIC,
+    API_KEY,
+    API_KEY_AND_JWT
+}
@@ -8,54 +8,37 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Set;
 
 @Component
 public class CompositeAuthenticationFilter extends OncePerRequestFilter {
 
-    private static final Set<String> PERMITTED_PATHS = Set.of(
-            "/api/auth/login",
-            "/api/auth/register",
-            "/swagger-ui/",
-            "/v3/api-docs/"
-    );
-
+    private final RouteClassifier routeClassifier;
     private final ApiKeyAuthFilter apiKeyAuthFilter;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
-    public CompositeAuthenticationFilter(ApiKeyAuthFilter apiKeyAuthFilter,
+    public CompositeAuthenticationFilter(RouteClassifier routeClassifier,
+                                       ApiKeyAuthFilter apiKeyAuthFilter,
                                        JwtAuthenticationFilter jwtAuthenticationFilter) {
+        this.routeClassifier = routeClassifier;
         this.apiKeyAuthFilter = apiKeyAuthFilter;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
     }
 
-    @Override
-    protected boolean shouldNotFilter(HttpServletRequest request) {
-        return isPermittedPath(request.getRequestURI());
-    }
-
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                   HttpServletResponse response,
                                   FilterChain filterChain) throws ServletException, IOException {
         
-        if (isPermittedPath(request.getRequestURI())) {
-            // For permitted paths, only apply API key filter
-            apiKeyAuthFilter.doFilter(request, response, filterChain);
-        } else {
-            // For protected paths, apply both filters in sequence
-            apiKeyAuthFilter.doFilter(request, response, new FilterChain() {
-                @Override
-                public void doFilter(jakarta.servlet.ServletRequest req,
-                                   jakarta.servlet.ServletResponse res)
-                        throws IOException, ServletException {
-                    jwtAuthenticationFilter.doFilter(req, res, filterChain);
-                }
-            });
+        // The route is classified once; each check writes its own 401 on failure
+        boolean authenticated = switch (routeClassifier.classify(request.getRequestURI())) {
+            case PUBLIC -> true;
+            case API_KEY -> apiKeyAuthFilter.authenticate(request, response);
+            case API_KEY_AND_JWT -> apiKeyAuthFilter.authenticate(request, response)
+                    && jwtAuthenticationFilter.authenticate(request, response);
+        };
+
+        if (authenticated) {
+            filterChain.doFilter(request, response);
         }
     }
-
-    private boolean isPermittedPath(String requestUri) {
-        return PERMITTED_PATHS.stream().anyMatch(requestUri::startsWith);
-    }
-}
\ No newline at end of file
+}
@@ -1,8 +1,9 @@
 package com.microservice.user_service.config.filter;
 
+import com.microservice.user_service.service.TokenRevocationService;
+import com.microservice.user_service.util.JwtPrincipal;
 import com.microservice.user_service.util.JwtUtil;
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
+import com.microservice.user_service.util.VerifiedTokenCache;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -12,46 +13,73 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 import java.util.ArrayList;
 
+/**
+ * Verifies the bearer token and populates the security context. Invoked by
+ * {@link CompositeAuthenticationFilter} for routes whose policy requires a JWT.
+ */
 @Component
-public class JwtAuthenticationFilter extends BaseAuthenticationFilter {
+public class JwtAuthenticationFilter {
 
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final RateLimiter rateLimiter;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, VerifiedTokenCache verifiedTokenCache,
+                                   TokenRevocationService tokenRevocationService,
+                                   RateLimiter rateLimiter) {
         this.jwtUtil = jwtUtil;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.rateLimiter = rateLimiter;
     }
 
-    @Override
-    protected void doAuthenticate(HttpServletRequest request,
-                                HttpServletResponse response,
-                                FilterChain filterChain) throws ServletException, IOException {
+    /**
+     * @return True if the request carries a valid, unrevoked token and the user is within
+     *         their rate limit; otherwise a 401 or 429 has been written.
+     */
+    public boolean authenticate(HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
         
         String authHeader = request.getHeader("Authorization");
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.getWriter().write("JWT token is missing");
-            return;
+            return reject(response, "JWT token is missing");
         }
 
         try {
             String jwt = authHeader.substring(7);
 
-            if (!jwtUtil.validateToken(jwt)) {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write("Invalid JWT token");
-                return;
+            JwtPrincipal principal = verifiedTokenCache.get(jwt);
+            if (principal == null) {
+                principal = jwtUtil.verifyToken(jwt);
+                if (principal == null) {
+                    return reject(response, "Invalid JWT token");
+                }
+                verifiedTokenCache.put(jwt, principal);
+            }
+
+            if (tokenRevocationService.isRevoked(principal.tokenId())) {
+                return reject(response, "JWT token has been revoked");
+            }
+
+            if (!rateLimiter.tryAcquireForUser(principal.userId(), response)) {
+                return false;
             }
 
-            String userId = jwtUtil.extractUserId(jwt);
             UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(userId, null, new ArrayList<>());
+                    new UsernamePasswordAuthenticationToken(principal.userId(), null, new ArrayList<>());
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            filterChain.doFilter(request, response);
-        } catch (Exception e) {
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.getWriter().write("JWT token processing failed");
+            return true;
+        } catch (RuntimeException e) {
+            return reject(response, "JWT token processing failed");
         }
     }
+
+    private boolean reject(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.getWriter().write(message);
+        return false;
+    }
 }
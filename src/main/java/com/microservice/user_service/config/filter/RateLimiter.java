@@ -0,0 +1,126 @@
+package com.microservice.user_service.config.filter;
+
+import com.microservice.user_service.util.TokenBucketTable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-API-key and per-user request limits, applied after the corresponding credential has
+ * been verified so only real keys and users ever get a bucket. A rejected request gets a
+ * {@code 429} with {@code Retry-After}; admitted and rejected counts are published as the
+ * {@code ratelimit.requests} metric.
+ */
+@Component
+public class RateLimiter {
+
+    private final TokenBucketTable apiKeyBuckets = new TokenBucketTable();
+    private final TokenBucketTable userBuckets = new TokenBucketTable();
+
+    private final boolean enabled;
+    private final long apiKeyRequestsPerMinute;
+    private final int apiKeyBurst;
+    private final Map<String, Long> apiKeyOverrides;
+    private final long userRequestsPerMinute;
+    private final int userBurst;
+    private final long idleTimeoutNanos;
+
+    private final Counter apiKeyAllowed;
+    private final Counter apiKeyRejected;
+    private final Counter userAllowed;
+    private final Counter userRejected;
+
+    public RateLimiter(@Value("${rate-limit.enabled:true}") boolean enabled,
+                       @Value("${rate-limit.api-key.requests-per-minute:6000}") long apiKeyRequestsPerMinute,
+                       @Value("${rate-limit.api-key.burst:200}") int apiKeyBurst,
+                       @Value("${rate-limit.api-key.overrides:}") String apiKeyOverrides,
+                       @Value("${rate-limit.user.requests-per-minute:600}") long userRequestsPerMinute,
+                       @Value("${rate-limit.user.burst:60}") int userBurst,
+                       @Value("${rate-limit.idle-timeout:600000}") long idleTimeoutMillis,
+                       MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.apiKeyRequestsPerMinute = apiKeyRequestsPerMinute;
+        this.apiKeyBurst = apiKeyBurst;
+        this.apiKeyOverrides = parseOverrides(apiKeyOverrides);
+        this.userRequestsPerMinute = userRequestsPerMinute;
+        this.userBurst = userBurst;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+
+        this.apiKeyAllowed = meterRegistry.counter("ratelimit.requests", "scope", "api_key", "outcome", "allowed");
+        this.apiKeyRejected = meterRegistry.counter("ratelimit.requests", "scope", "api_key", "outcome", "rejected");
+        this.userAllowed = meterRegistry.counter("ratelimit.requests", "scope", "user", "outcome", "allowed");
+        this.userRejected = meterRegistry.counter("ratelimit.requests", "scope", "user", "outcome", "rejected");
+        Gauge.builder("ratelimit.buckets", apiKeyBuckets, TokenBucketTable::size)
+                .tag("scope", "api_key").register(meterRegistry);
+        Gauge.builder("ratelimit.buckets", userBuckets, TokenBucketTable::size)
+                .tag("scope", "user").register(meterRegistry);
+    }
+
+    /**
+     * @return True if the API key is within its limit; otherwise a 429 has been written.
+     */
+    public boolean tryAcquireForApiKey(String apiKey, HttpServletResponse response) throws IOException {
+        if (!enabled) {
+            return true;
+        }
+        long limit = apiKeyOverrides.getOrDefault(apiKey, apiKeyRequestsPerMinute);
+        long waitNanos = apiKeyBuckets.tryAcquire(apiKey, limit, apiKeyBurst, System.nanoTime());
+        return admit(waitNanos, apiKeyAllowed, apiKeyRejected, response);
+    }
+
+    /**
+     * @return True if the user is within their limit; otherwise a 429 has been written.
+     */
+    public boolean tryAcquireForUser(String userId, HttpServletResponse response) throws IOException {
+        if (!enabled) {
+            return true;
+        }
+        long waitNanos = userBuckets.tryAcquire(userId, userRequestsPerMinute, userBurst, System.nanoTime());
+        return admit(waitNanos, userAllowed, userRejected, response);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        apiKeyBuckets.evictIdle(idleTimeoutNanos, now);
+        userBuckets.evictIdle(idleTimeoutNanos, now);
+    }
+
+    private static boolean admit(long waitNanos, Counter allowed, Counter rejected,
+                                 HttpServletResponse response) throws IOException {
+        if (waitNanos == 0) {
+            allowed.increment();
+            return true;
+        }
+        rejected.increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.getWriter().write("Rate limit exceeded");
+        return false;
+    }
+
+    // Format: key1:600,key2:1200 (requests per minute)
+    private static Map<String, Long> parseOverrides(String overrides) {
+        Map<String, Long> parsed = new HashMap<>();
+        for (String entry : overrides.split(",")) {
+            int separator = entry.lastIndexOf(':');
+            if (separator > 0) {
+                parsed.put(entry.substring(0, separator).trim(),
+                        Long.parseLong(entry.substring(separator + 1).trim()));
+            }
+        }
+        return Map.copyOf(parsed);
+    }
+}
@@ -0,0 +1,107 @@
+package com.microservice.user_service.config.filter;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Maps a request URI to its {@link AuthPolicy} by longest matching path prefix.
+ * <p>
+ * The route table below is the single definition of which paths are public and which
+ * need credentials; it is compiled once into a character trie, so classifying a request
+ * walks the URI once and allocates nothing.
+ */
+@Component
+public class RouteClassifier {
+
+    private static final AuthPolicy DEFAULT_POLICY = AuthPolicy.API_KEY_AND_JWT;
+
+    private static final Map<String, AuthPolicy> ROUTES;
+
+    static {
+        Map<String, AuthPolicy> routes = new LinkedHashMap<>();
+        routes.put("/api/auth/", AuthPolicy.API_KEY);
+        routes.put("/api/auth/login", AuthPolicy.PUBLIC);
+        routes.put("/api/auth/register", AuthPolicy.PUBLIC);
+        routes.put("/api/auth/refresh", AuthPolicy.PUBLIC);
+        routes.put("/api/auth/.well-known/", AuthPolicy.PUBLIC);
+        routes.put("/swagger-ui/", AuthPolicy.PUBLIC);
+        routes.put("/v3/api-docs/", AuthPolicy.PUBLIC);
+        ROUTES = Collections.unmodifiableMap(routes);
+    }
+
+    private final Node root = new Node();
+
+    public RouteClassifier() {
+        this(ROUTES);
+    }
+
+    public RouteClassifier(Map<String, AuthPolicy> routes) {
+        routes.forEach(this::insert);
+    }
+
+    /**
+     * @return The route prefixes and their policies; anything else is {@link AuthPolicy#API_KEY_AND_JWT}.
+     */
+    public static Map<String, AuthPolicy> getRoutes() {
+        return ROUTES;
+    }
+
+    public AuthPolicy classify(String requestUri) {
+        AuthPolicy policy = DEFAULT_POLICY;
+        Node node = root;
+        for (int i = 0; i < requestUri.length(); i++) {
+            node = node.child(requestUri.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.policy != null) {
+                policy = node.policy;
+            }
+        }
+        return policy;
+    }
+
+    private void insert(String prefix, AuthPolicy policy) {
+        Node node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.childOrCreate(prefix.charAt(i));
+        }
+        node.policy = policy;
+    }
+
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private AuthPolicy policy;
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+
+            Node created = new Node();
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = created;
+            labels = newLabels;
+            children = newChildren;
+            return created;
+        }
+    }
+}
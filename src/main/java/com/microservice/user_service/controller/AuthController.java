@@ -1,14 +1,28 @@
 package com.microservice.user_service.controller;
 
+import com.microservice.user_service.exception.TooManyRequestsException;
 import com.microservice.user_service.model.User;
+import com.microservice.user_service.model.UserLoggedInEvent;
 import com.microservice.user_service.service.AuthService;
+import com.microservice.user_service.service.LoginAttemptService;
+import com.microservice.user_service.service.RefreshTokenService;
+import com.microservice.user_service.service.TokenRevocationService;
+import com.microservice.user_service.util.ClientIpResolver;
+import com.microservice.user_service.util.JwtPrincipal;
+import com.microservice.user_service.util.JwtKeyRing;
 import com.microservice.user_service.util.JwtUtil;
+import com.microservice.user_service.util.PasswordHashingExecutor;
+import com.microservice.user_service.util.UserValidator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +30,8 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -25,73 +41,167 @@ public class AuthController {
 
     private final AuthService authService;
     private final JwtUtil jwtUtil;
+    private final JwtKeyRing jwtKeyRing;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginAttemptService loginAttemptService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final ClientIpResolver clientIpResolver;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public AuthController(AuthService authService, JwtUtil jwtUtil) {
+    public AuthController(AuthService authService, JwtUtil jwtUtil, JwtKeyRing jwtKeyRing,
+                          RefreshTokenService refreshTokenService,
+                          TokenRevocationService tokenRevocationService,
+                          LoginAttemptService loginAttemptService,
+                          PasswordHashingExecutor passwordHashingExecutor,
+                          ClientIpResolver clientIpResolver,
+                          ApplicationEventPublisher eventPublisher) {
         this.authService = authService;
         this.jwtUtil = jwtUtil;
+        this.jwtKeyRing = jwtKeyRing;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.loginAttemptService = loginAttemptService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.clientIpResolver = clientIpResolver;
+        this.eventPublisher = eventPublisher;
     }
 
     @Operation(summary = "Register a new user")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "User successfully registered"),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
-        @ApiResponse(responseCode = "409", description = "Username or email already exists")
+        @ApiResponse(responseCode = "409", description = "Username or email already exists"),
+        @ApiResponse(responseCode = "503", description = "Too many pending registrations")
     })
     @PostMapping("/register")
-    public ResponseEntity<Map<String, String>> registerUser(@Valid @RequestBody User user) {
+    public CompletableFuture<ResponseEntity<Map<String, String>>> registerUser(@Valid @RequestBody User user) {
         validateRegistrationRequest(user);
-        try {
-            User registeredUser = authService.registerUser(user);
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "User registered successfully");
-            response.put("userId", registeredUser.getId());
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-        } catch (RuntimeException e) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
-        }
+        return passwordHashingExecutor.submit(() -> {
+            try {
+                User registeredUser = authService.registerUser(user);
+                Map<String, String> response = new HashMap<>();
+                response.put("message", "User registered successfully");
+                response.put("userId", registeredUser.getId());
+                return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+            }
+        });
     }
 
     @Operation(summary = "Authenticate user and get token")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully authenticated"),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
-        @ApiResponse(responseCode = "401", description = "Invalid credentials")
+        @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+        @ApiResponse(responseCode = "429", description = "Too many failed login attempts"),
+        @ApiResponse(responseCode = "503", description = "Too many pending logins")
     })
     @PostMapping("/login")
-    public ResponseEntity<Map<String, String>> loginUser(@Valid @RequestBody Map<String, String> loginRequest) {
+    public CompletableFuture<ResponseEntity<Map<String, String>>> loginUser(
+            @Valid @RequestBody Map<String, String> loginRequest, HttpServletRequest request) {
         validateLoginRequest(loginRequest);
-        try {
-            String email = loginRequest.get("email");
-            String password = loginRequest.get("password");
-            
-            User authenticatedUser = authService.authenticateUser(email, password);
-            String token = jwtUtil.generateToken(authenticatedUser.getId());
-            
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Login successful");
-            response.put("token", token);
-            response.put("userId", authenticatedUser.getId());
-            
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid email or password");
+        String email = loginRequest.get("email");
+        String clientIp = clientIpResolver.resolve(request);
+
+        // Checked before the password hash is computed, so a blocked client costs no bcrypt work
+        long blockedForMillis = loginAttemptService.blockedForMillis(email, clientIp);
+        if (blockedForMillis > 0) {
+            throw new TooManyRequestsException("Too many failed login attempts", blockedForMillis);
         }
+
+        return passwordHashingExecutor.submit(() -> {
+            try {
+                String password = loginRequest.get("password");
+
+                User authenticatedUser = authService.authenticateUser(email, password);
+                loginAttemptService.recordSuccess(email);
+                String token = jwtUtil.generateToken(authenticatedUser.getId());
+                String refreshToken = refreshTokenService.issue(authenticatedUser.getId());
+                eventPublisher.publishEvent(new UserLoggedInEvent(authenticatedUser.getId()));
+
+                Map<String, String> response = new HashMap<>();
+                response.put("message", "Login successful");
+                response.put("token", token);
+                response.put("refreshToken", refreshToken);
+                response.put("userId", authenticatedUser.getId());
+
+                return ResponseEntity.ok(response);
+            } catch (RuntimeException e) {
+                loginAttemptService.recordFailure(email, clientIp);
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid email or password");
+            }
+        });
     }
 
-    private void validateRegistrationRequest(User user) {
-        if (user == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User data is required");
+    @Operation(summary = "Exchange a refresh token for a new access token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tokens successfully refreshed"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Invalid, expired or reused refresh token")
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, String>> refreshToken(@RequestBody Map<String, String> refreshRequest) {
+        if (refreshRequest == null || refreshRequest.get("refreshToken") == null
+                || refreshRequest.get("refreshToken").trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Refresh token is required");
         }
-        if (user.getUsername() == null || user.getUsername().trim().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Username is required");
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshRequest.get("refreshToken"));
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Token refreshed");
+        response.put("token", jwtUtil.generateToken(rotation.userId()));
+        response.put("refreshToken", rotation.refreshToken());
+        response.put("userId", rotation.userId());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Revoke the current access token and, if given, its refresh token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully logged out"),
+        @ApiResponse(responseCode = "401", description = "Missing or invalid access token")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, String>> logoutUser(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestBody(required = false) Map<String, String> logoutRequest) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "JWT token is missing");
         }
-        if (user.getEmail() == null || user.getEmail().trim().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email is required");
+        JwtPrincipal principal = jwtUtil.verifyToken(authHeader.substring(7));
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid JWT token");
         }
-        if (user.getPassword() == null || user.getPassword().trim().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Password is required");
+
+        tokenRevocationService.revoke(principal);
+        if (logoutRequest != null && logoutRequest.get("refreshToken") != null) {
+            refreshTokenService.revoke(logoutRequest.get("refreshToken"));
+        }
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Logout successful");
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Get the public keys used to sign tokens")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "JWK set of the current and retained signing keys")
+    })
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(jwtKeyRing.getPublicJwks());
+    }
+
+    private void validateRegistrationRequest(User user) {
+        String error = UserValidator.validate(user);
+        if (error != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, error);
         }
-        //TODO Add more validation (password strength, email format, etc.)
     }
 
     private void validateLoginRequest(Map<String, String> loginRequest) {
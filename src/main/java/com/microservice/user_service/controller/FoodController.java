@@ -1,17 +1,27 @@
 package com.microservice.user_service.controller;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.microservice.user_service.model.DailyTotals;
 import com.microservice.user_service.model.Food;
+import com.microservice.user_service.model.FoodPatch;
+import com.microservice.user_service.service.FoodExportService;
 import com.microservice.user_service.service.FoodService;
 
 import io.swagger.v3.oas.annotations.Hidden;
@@ -30,9 +40,14 @@ import jakarta.servlet.http.HttpServletResponse;
 @Validated
 public class FoodController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private FoodService foodService;
 
+    @Autowired
+    private FoodExportService foodExportService;
+
     @Hidden
     @RequestMapping(value="/")
     public void redirect(HttpServletResponse response) throws IOException {
@@ -47,6 +62,59 @@ public class FoodController {
         return authentication.getName();
     }
 
+    // Changes with every write to the user's entries, so it is valid for any list of them
+    private static String versionTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static boolean isNotModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // If-None-Match uses weak comparison
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String entityTag(Food food) {
+        return "\"" + (food.getVersion() == null ? 0 : food.getVersion()) + "\"";
+    }
+
+    /**
+     * @return The entry versions accepted by If-Match, or null when the header is absent or
+     *         {@code *}; an empty list (no usable tag) never matches.
+     */
+    private static List<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return null;
+            }
+            // If-Match uses strong comparison, so weak tags never match
+            if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                continue;
+            }
+            try {
+                versions.add(Long.parseLong(tag.substring(1, tag.length() - 1)));
+            } catch (NumberFormatException e) {
+                // Not a tag this server issued
+            }
+        }
+        return versions;
+    }
+
     @Operation(summary = "Create a new food entry")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Food entry created successfully"),
@@ -62,24 +130,127 @@ public class FoodController {
         return ResponseEntity.status(201).body(createdFood);
     }
 
-    @Operation(summary = "Get all food entries", description = "Retrieve all food entries for the authenticated user, optionally filtered by date")
+    @Operation(summary = "Create food entries in bulk", description = "Validate every entry, then insert them all "
+            + "in one write. The response has one result per entry, in request order.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Entries processed; see the per-entry results"),
+        @ApiResponse(responseCode = "400", description = "Invalid entry or batch size"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<FoodService.BatchResult>> createFoods(
+            @RequestBody List<Food> foods) {
+        List<FoodService.BatchResult> results = foodService.createFoods(foods, getCurrentUserId());
+        return ResponseEntity.status(201).body(results);
+    }
+
+    @Operation(summary = "Get all food entries", description = "Retrieve the food entries for the authenticated user: "
+            + "the entries with the given ids, all entries of one date, all entries from one date to another "
+            + "(inclusive, oldest first), or one page "
+            + "of all entries, newest first. When more entries follow, the response carries an X-Next-Cursor header "
+            + "to pass as cursor for the next page.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved food entries"),
+        @ApiResponse(responseCode = "304", description = "Entries unchanged since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
-        @ApiResponse(responseCode = "400", description = "Invalid date format")
+        @ApiResponse(responseCode = "400", description = "Invalid date format, date range, cursor or limit")
     })
     @GetMapping
     public ResponseEntity<List<Food>> getAllFood(
+            @Parameter(description = "Comma-separated entry IDs; IDs not found are left out")
+            @RequestParam(required = false) List<String> ids,
             @Parameter(description = "Date in yyyy-MM-dd format")
             @RequestParam(required = false) 
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) String date) {
-        List<Food> foods = foodService.getAllFood(date, getCurrentUserId());
-        return ResponseEntity.ok(foods);
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) String date,
+            @Parameter(description = "First date of a range in yyyy-MM-dd format")
+            @RequestParam(required = false) String from,
+            @Parameter(description = "Last date of a range in yyyy-MM-dd format")
+            @RequestParam(required = false) String to,
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of entries per page")
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String userId = getCurrentUserId();
+        long version = foodService.getVersion(userId);
+        String etag = versionTag(version);
+        if (isNotModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (ids != null) {
+            return ResponseEntity.ok().eTag(etag).body(foodService.getFoodsByIds(ids, userId));
+        }
+        if (date != null) {
+            return ResponseEntity.ok().eTag(etag).body(foodService.getAllFood(date, userId, version));
+        }
+        if (from != null || to != null) {
+            return ResponseEntity.ok().eTag(etag).body(foodService.getFoodInRange(from, to, userId));
+        }
+
+        FoodService.FoodPage page = foodService.getFoodPage(userId, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    @Operation(summary = "Get daily macro totals", description = "Sum protein, carbs and fat of the authenticated user's entries for one date")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully computed totals"),
+        @ApiResponse(responseCode = "400", description = "Invalid date format"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/totals")
+    public ResponseEntity<DailyTotals> getDailyTotals(
+            @Parameter(description = "Date in yyyy-MM-dd format")
+            @RequestParam String date) {
+        DailyTotals totals = foodService.getDailyTotals(date, getCurrentUserId());
+        return ResponseEntity.ok(totals);
+    }
+
+    @Operation(summary = "Export all food entries", description = "Stream every food entry of the authenticated user, "
+            + "oldest first, as NDJSON or CSV. The response is gzip-compressed when the client accepts gzip.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Unsupported export format"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportFood(
+            @Parameter(description = "Export format: ndjson or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // Resolved here, the body is written on another thread without the security context
+        String userId = getCurrentUserId();
+        FoodExportService.Format exportFormat = FoodExportService.Format.parse(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutput = new GZIPOutputStream(output, 8192);
+                foodExportService.export(userId, exportFormat, gzipOutput);
+                gzipOutput.finish();
+            } else {
+                foodExportService.export(userId, exportFormat, output);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("food-export." + exportFormat.getExtension()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @Operation(summary = "Get food entry by ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved food entry"),
+        @ApiResponse(responseCode = "304", description = "Entry unchanged since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden"),
         @ApiResponse(responseCode = "404", description = "Food entry not found")
@@ -87,9 +258,15 @@ public class FoodController {
     @GetMapping("/{id}")
     public ResponseEntity<Food> getFoodById(
             @Parameter(description = "Food entry ID")
-            @PathVariable String id) {
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         Food food = foodService.getFoodById(id, getCurrentUserId());
-        return ResponseEntity.ok(food);
+        // Tagged with the entry's own version, which is what If-Match on writes compares against
+        String etag = entityTag(food);
+        if (isNotModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(food);
     }
 
     @Operation(summary = "Update food entry")
@@ -98,15 +275,51 @@ public class FoodController {
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden"),
-        @ApiResponse(responseCode = "404", description = "Food entry not found")
+        @ApiResponse(responseCode = "404", description = "Food entry not found"),
+        @ApiResponse(responseCode = "412", description = "Entry modified since the ETag in If-Match")
     })
     @PutMapping("/{id}")
     public ResponseEntity<Food> updateFood(
             @Parameter(description = "Food entry ID")
             @PathVariable String id,
-            @RequestBody @Validated Food food) {
-        Food updatedFood = foodService.updateFood(id, food, getCurrentUserId());
-        return ResponseEntity.ok(updatedFood);
+            @RequestBody @Validated Food food,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Food updatedFood = foodService.updateFood(id, food, getCurrentUserId(), parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(entityTag(updatedFood)).body(updatedFood);
+    }
+
+    @Operation(summary = "Partially update food entry", description = "Set only the fields present in the body; "
+            + "a patch that changes nothing leaves the entry untouched.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Food entry updated successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden"),
+        @ApiResponse(responseCode = "404", description = "Food entry not found"),
+        @ApiResponse(responseCode = "412", description = "Entry modified since the ETag in If-Match")
+    })
+    @PatchMapping("/{id}")
+    public ResponseEntity<Food> patchFood(
+            @Parameter(description = "Food entry ID")
+            @PathVariable String id,
+            @RequestBody FoodPatch patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Food patchedFood = foodService.patchFood(id, patch, getCurrentUserId(), parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(entityTag(patchedFood)).body(patchedFood);
+    }
+
+    @Operation(summary = "Delete food entries in bulk", description = "Delete the entries with the given ids in a fixed "
+            + "number of writes, whatever the batch size. The response has one result per id, in request order.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Entries processed; see the per-entry results"),
+        @ApiResponse(responseCode = "400", description = "Invalid batch size"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @DeleteMapping
+    public ResponseEntity<List<FoodService.BatchResult>> deleteFoods(
+            @Parameter(description = "Comma-separated entry IDs")
+            @RequestParam List<String> ids) {
+        return ResponseEntity.ok(foodService.deleteFoods(ids, getCurrentUserId()));
     }
 
     @Operation(summary = "Delete food entry")
@@ -114,13 +327,15 @@ public class FoodController {
         @ApiResponse(responseCode = "204", description = "Food entry deleted successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden"),
-        @ApiResponse(responseCode = "404", description = "Food entry not found")
+        @ApiResponse(responseCode = "404", description = "Food entry not found"),
+        @ApiResponse(responseCode = "412", description = "Entry modified since the ETag in If-Match")
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteFood(
             @Parameter(description = "Food entry ID")
-            @PathVariable String id) {
-        foodService.deleteFood(id, getCurrentUserId());
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        foodService.deleteFood(id, getCurrentUserId(), parseIfMatch(ifMatch));
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
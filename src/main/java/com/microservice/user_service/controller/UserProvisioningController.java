@@ -0,0 +1,41 @@
+package com.microservice.user_service.controller;
+
+import com.microservice.user_service.service.UserProvisioningService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/auth")
+@Tag(name = "Authentication", description = "Authentication management APIs")
+public class UserProvisioningController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final UserProvisioningService userProvisioningService;
+
+    public UserProvisioningController(UserProvisioningService userProvisioningService) {
+        this.userProvisioningService = userProvisioningService;
+    }
+
+    @Operation(summary = "Create users in bulk from newline-delimited JSON",
+            description = "Each line of the body is a user object. The response has one result line "
+                    + "per user, streamed as batches are inserted, followed by a summary line.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Users processed; see the per-line results"),
+        @ApiResponse(responseCode = "401", description = "Invalid API key")
+    })
+    @PostMapping("/provision")
+    public ResponseEntity<StreamingResponseBody> provisionUsers(HttpServletRequest request) {
+        StreamingResponseBody body = output -> userProvisioningService.provision(request.getInputStream(), output);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
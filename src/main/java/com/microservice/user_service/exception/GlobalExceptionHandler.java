@@ -24,7 +24,7 @@ public class GlobalExceptionHandler {
             ex.getReason(),
             LocalDateTime.now()
         );
-        return new ResponseEntity<>(errorResponse, ex.getStatusCode());
+        return new ResponseEntity<>(errorResponse, ex.getHeaders(), ex.getStatusCode());
     }
 
     @ExceptionHandler(AccessDeniedException.class)
@@ -0,0 +1,45 @@
+package com.microservice.user_service.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Document(collection = "DailySummaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySummary {
+
+    // userId + ":" + date, so the summary of a day is a point read on _id
+    @Id
+    private String id;
+
+    private String userId;
+
+    private LocalDate date;
+
+    private double protein;
+    private double carb;
+    private double fat;
+
+    private long count;
+
+    private Instant updatedAt;
+
+    // Incremented by every write, so the rebuild can replace a summary only if nothing changed it
+    private long revision;
+
+    // Only filled in by the rebuild's aggregation: the latest updatedAt of the day's entries
+    private LocalDateTime lastChangedAt;
+
+    public static String idOf(String userId, LocalDate date) {
+        return userId + ":" + date;
+    }
+}
@@ -0,0 +1,21 @@
+package com.microservice.user_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyTotals {
+
+    private LocalDate date;
+
+    private double protein;
+    private double carb;
+    private double fat;
+
+    private long count;
+}
@@ -1,6 +1,8 @@
 package com.microservice.user_service.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -12,6 +14,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Document(collection = "Food")
+// Serves lookups by user, by user and date, and date-ordered listing of a user's entries
+@CompoundIndex(name = "userId_date_id", def = "{ 'userId': 1, 'date': 1, '_id': 1 }", background = true)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,4 +40,8 @@ public class Food {
 
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     private LocalDateTime updatedAt;
+
+    // Incremented by every update; entries stored before versioning have none and count as 0
+    @Version
+    private Long version;
 }
\ No newline at end of file
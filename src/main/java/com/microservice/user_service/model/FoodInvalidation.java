@@ -0,0 +1,20 @@
+package com.microservice.user_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodInvalidation {
+
+    private String userId;
+
+    // The day the entry was on before or after the write
+    private LocalDate date;
+
+    private String foodId;
+}
@@ -0,0 +1,36 @@
+package com.microservice.user_service.model;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Document(collection = "FoodInvalidations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodInvalidationBatch {
+
+    @Id
+    private ObjectId id;
+
+    // The instance whose writes these are; it skips its own batches
+    private String origin;
+
+    // Peers poll for batches created since their last poll
+    @Indexed
+    private Instant createdAt;
+
+    // Peers that have not polled by then evict everything instead
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+
+    private List<FoodInvalidation> invalidations;
+}
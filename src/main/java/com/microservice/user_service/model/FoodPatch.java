@@ -0,0 +1,25 @@
+package com.microservice.user_service.model;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Partial update of a Food entry; null fields are left unchanged
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodPatch {
+
+    private String name;
+
+    private Double protein;
+    private Double carb;
+    private Double fat;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate date;
+}
@@ -0,0 +1,22 @@
+package com.microservice.user_service.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Document(collection = "FoodVersions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodVersion {
+
+    // The user whose food entries this counter covers
+    @Id
+    private String userId;
+
+    // Incremented after every write to the user's entries
+    private long version;
+}
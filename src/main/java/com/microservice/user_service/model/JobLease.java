@@ -0,0 +1,30 @@
+package com.microservice.user_service.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Document(collection = "JobLeases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+    // The name of the job this lease guards
+    @Id
+    private String name;
+
+    // The instance currently holding the lease
+    private String owner;
+
+    // Another instance may take the lease over once this has passed
+    private Instant expiresAt;
+
+    // Set once a one-time job has finished; the lease can never be taken again
+    private Instant completedAt;
+}
@@ -0,0 +1,39 @@
+package com.microservice.user_service.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Document(collection = "RefreshTokens")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    @Id
+    private String id;
+
+    // SHA-256 of the opaque token; the raw value is only ever held by the client
+    @Indexed(unique = true)
+    private String tokenHash;
+
+    @Indexed
+    private String userId;
+
+    // Every token issued by rotating the same login shares a family
+    @Indexed
+    private String familyId;
+
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+
+    private Instant createdAt;
+
+    private Instant usedAt;
+}
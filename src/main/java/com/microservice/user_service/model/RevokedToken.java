@@ -0,0 +1,30 @@
+package com.microservice.user_service.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Document(collection = "RevokedTokens")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    // The jti of the revoked access token
+    @Id
+    private String id;
+
+    private String userId;
+
+    // Once the token has expired on its own the entry is no longer needed
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+
+    private Instant revokedAt;
+}
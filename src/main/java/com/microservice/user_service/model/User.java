@@ -2,6 +2,7 @@ package com.microservice.user_service.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.Email;
@@ -16,10 +17,12 @@ public class User {
     private String id;
 
     @NotBlank(message = "Username is required")
+    @Indexed(unique = true)
     private String username;
 
     @NotBlank(message = "Email is required")
     @Email(message = "Invalid email format")
+    @Indexed(unique = true)
     private String email;
 
     @NotBlank(message = "Password is required")
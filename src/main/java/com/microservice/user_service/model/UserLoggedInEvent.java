@@ -0,0 +1,14 @@
+package com.microservice.user_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published after a successful login, once the tokens have been issued.
+ */
+@Data
+@AllArgsConstructor
+public class UserLoggedInEvent {
+
+    private String userId;
+}
@@ -1,15 +1,50 @@
 package com.microservice.user_service.repository;
 
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.microservice.user_service.model.DailyTotals;
 import com.microservice.user_service.model.Food;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface FoodRepository extends MongoRepository<Food, String> {
+public interface FoodRepository extends MongoRepository<Food, String>, FoodRepositoryCustom {
     List<Food> findByDate(LocalDate date);
-    List<Food> findByUserId(String userId);
     List<Food> findByDateAndUserId(LocalDate date, String userId);
-}
\ No newline at end of file
+
+    List<Food> findByIdInAndUserId(Collection<String> ids, String userId);
+
+    // Removes the entry in one round trip only if it belongs to the user, returning it
+    Optional<Food> deleteByIdAndUserId(String id, String userId);
+
+    List<Food> findByUserIdOrderByDateDescIdDesc(String userId, Limit limit);
+
+    // Backed by a server cursor; the caller must close the stream
+    @Meta(cursorBatchSize = 500)
+    Stream<Food> streamByUserIdOrderByDateAscIdAsc(String userId);
+
+    // Keyset continuation of findByUserIdOrderByDateDescIdDesc after the entry (date, id)
+    @Query(value = "{ 'userId': ?0, '$or': [ { 'date': { '$lt': ?1 } }, { 'date': ?1, '_id': { '$lt': ?2 } } ] }",
+           sort = "{ 'date': -1, '_id': -1 }")
+    List<Food> findPageAfter(String userId, LocalDate date, ObjectId id, Limit limit);
+
+    // Both bounds inclusive; a single range scan of the (userId, date, _id) index
+    @Query(value = "{ 'userId': ?0, 'date': { '$gte': ?1, '$lte': ?2 } }", sort = "{ 'date': 1, '_id': 1 }")
+    List<Food> findByUserIdAndDateRange(String userId, LocalDate from, LocalDate to);
+
+    @Aggregation(pipeline = {
+        "{ '$match': { 'userId': ?0, 'date': ?1 } }",
+        "{ '$group': { '_id': null, 'protein': { '$sum': '$protein' }, 'carb': { '$sum': '$carb' }, "
+            + "'fat': { '$sum': '$fat' }, 'count': { '$sum': 1 } } }"
+    })
+    Optional<DailyTotals> sumByUserIdAndDate(String userId, LocalDate date);
+}
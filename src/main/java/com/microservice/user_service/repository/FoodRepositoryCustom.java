@@ -0,0 +1,52 @@
+package com.microservice.user_service.repository;
+
+import com.microservice.user_service.model.Food;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface FoodRepositoryCustom {
+
+    /**
+     * Inserts all entries in a single unordered bulk write, so a rejected entry does not stop
+     * the entries after it.
+     *
+     * @return The Mongo error code of every entry that was not inserted, keyed by its index in {@code foods}.
+     */
+    Map<Integer, Integer> insertUnordered(List<Food> foods);
+
+    /**
+     * Applies the update to the entry only if it belongs to the user, in one round trip.
+     *
+     * @return The entry as it was before the update, or empty if no entry with that id belongs to the user.
+     */
+    Optional<Food> findAndModifyOwned(String id, String userId, Update update);
+
+    /**
+     * Like {@link #findAndModifyOwned(String, String, Update)}, but only applies the update if
+     * the entry also matches {@code condition}.
+     */
+    Optional<Food> findAndModifyOwned(String id, String userId, Criteria condition, Update update);
+
+    /**
+     * Removes the entry in one round trip only if it belongs to the user and matches {@code condition}.
+     *
+     * @return The removed entry, or empty if nothing matched.
+     */
+    Optional<Food> findAndRemoveOwned(String id, String userId, Criteria condition);
+
+    /**
+     * Removes the user's entries among {@code ids} in three round trips whatever their number:
+     * the entries are first claimed with a token unique to this call, then the claimed entries
+     * are read and removed by that token. An entry already claimed by a concurrent call is left
+     * to it, so each removed entry is returned by exactly one call.
+     *
+     * @return The removed entries, in no particular order.
+     */
+    List<Food> deleteOwned(Collection<String> ids, String userId);
+}
@@ -0,0 +1,72 @@
+package com.microservice.user_service.repository;
+
+import com.microservice.user_service.model.Food;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public class FoodRepositoryCustomImpl implements FoodRepositoryCustom {
+
+    // Set on entries claimed by a bulk delete; never part of a stored Food otherwise
+    private static final String DELETE_TOKEN = "deleteToken";
+
+    private final MongoTemplate mongoTemplate;
+
+    public FoodRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Map<Integer, Integer> insertUnordered(List<Food> foods) {
+        return UnorderedBulkInsert.insert(mongoTemplate, foods, Food.class);
+    }
+
+    @Override
+    public Optional<Food> findAndModifyOwned(String id, String userId, Update update) {
+        return findAndModify(Query.query(owned(id, userId)), update);
+    }
+
+    @Override
+    public Optional<Food> findAndModifyOwned(String id, String userId, Criteria condition, Update update) {
+        return findAndModify(Query.query(owned(id, userId)).addCriteria(condition), update);
+    }
+
+    @Override
+    public Optional<Food> findAndRemoveOwned(String id, String userId, Criteria condition) {
+        Query query = Query.query(owned(id, userId)).addCriteria(condition);
+        return Optional.ofNullable(mongoTemplate.findAndRemove(query, Food.class));
+    }
+
+    @Override
+    public List<Food> deleteOwned(Collection<String> ids, String userId) {
+        String token = UUID.randomUUID().toString();
+        Query unclaimed = Query.query(Criteria.where("_id").in(ids).and("userId").is(userId)
+                .and(DELETE_TOKEN).is(null));
+        if (mongoTemplate.updateMulti(unclaimed, new Update().set(DELETE_TOKEN, token), Food.class)
+                .getModifiedCount() == 0) {
+            return List.of();
+        }
+        // Still scoped by id, so reading and removing the claimed entries stays on the _id index
+        Query claimed = Query.query(Criteria.where("_id").in(ids).and(DELETE_TOKEN).is(token));
+        List<Food> foods = mongoTemplate.find(claimed, Food.class);
+        mongoTemplate.remove(claimed, Food.class);
+        return foods;
+    }
+
+    private Optional<Food> findAndModify(Query query, Update update) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(false), Food.class));
+    }
+
+    private static Criteria owned(String id, String userId) {
+        return Criteria.where("_id").is(id).and("userId").is(userId);
+    }
+}
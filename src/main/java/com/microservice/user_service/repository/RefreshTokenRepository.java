@@ -0,0 +1,24 @@
+package com.microservice.user_service.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+
+import com.microservice.user_service.model.RefreshToken;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Query("{ 'tokenHash': ?0, 'usedAt': null }")
+    @Update("{ '$set': { 'usedAt': ?1 } }")
+    long markUsed(String tokenHash, Instant usedAt);
+
+    long deleteByFamilyId(String familyId);
+
+    long deleteByUserId(String userId);
+}
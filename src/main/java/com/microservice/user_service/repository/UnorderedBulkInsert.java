@@ -0,0 +1,43 @@
+package com.microservice.user_service.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The unordered bulk insert behind the {@code insertUnordered} methods of the custom repositories.
+ */
+final class UnorderedBulkInsert {
+
+    private UnorderedBulkInsert() {
+    }
+
+    /**
+     * Inserts all documents in a single unordered bulk write, so a rejected document does not
+     * stop the documents after it.
+     *
+     * @return The Mongo error code of every document that was not inserted, keyed by its index in {@code documents}.
+     */
+    static <T> Map<Integer, Integer> insert(MongoTemplate mongoTemplate, List<T> documents, Class<T> entityClass) {
+        if (documents.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass)
+                    .insert(documents)
+                    .execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            Map<Integer, Integer> failures = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getCode());
+            }
+            return failures;
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package com.microservice.user_service.repository;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
 import com.microservice.user_service.model.User;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
+
+    @Query("{ '_id': ?0 }")
+    @Update("{ '$set': { 'password': ?1, 'updatedAt': ?2 } }")
+    long updatePassword(String id, String password, LocalDateTime updatedAt);
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.microservice.user_service.repository;
+
+import com.microservice.user_service.model.User;
+
+import java.util.List;
+import java.util.Map;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Inserts all users in a single unordered bulk write, so a rejected row does not stop
+     * the rows after it.
+     *
+     * @return The Mongo error code of every row that was not inserted, keyed by its index in {@code users}.
+     */
+    Map<Integer, Integer> insertUnordered(List<User> users);
+}
@@ -0,0 +1,21 @@
+package com.microservice.user_service.repository;
+
+import com.microservice.user_service.model.User;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Map<Integer, Integer> insertUnordered(List<User> users) {
+        return UnorderedBulkInsert.insert(mongoTemplate, users, User.class);
+    }
+}
@@ -2,7 +2,10 @@ package com.microservice.user_service.service;
 
 import com.microservice.user_service.model.User;
 import com.microservice.user_service.repository.UserRepository;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -11,25 +14,27 @@ import java.util.Optional;
 @Service
 public class AuthService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
 
-    public AuthService(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder) {
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
     }
 
     public User registerUser(User user) {
-        if (userRepository.findByEmail(user.getEmail()).isPresent() ||
-            userRepository.findByUsername(user.getUsername()).isPresent()) {
-            throw new RuntimeException("Username or email already exists");
-        }
-
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
 
-        return userRepository.save(user);
+        // The unique indexes on email and username reject duplicates, even between concurrent signups
+        try {
+            return userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            throw new RuntimeException("Username or email already exists");
+        }
     }
 
     public User authenticateUser(String email, String password) {
@@ -37,9 +42,25 @@ public class AuthService {
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             if (passwordEncoder.matches(password, user.getPassword())) {
+                if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+                    rehashPassword(user, password);
+                }
                 return user;
             }
         }
         throw new RuntimeException("Invalid email or password");
     }
+
+    // The plain password is only available at login, so this is where weaker hashes get replaced
+    private void rehashPassword(User user, String password) {
+        try {
+            String encodedPassword = passwordEncoder.encode(password);
+            LocalDateTime now = LocalDateTime.now();
+            userRepository.updatePassword(user.getId(), encodedPassword, now);
+            user.setPassword(encodedPassword);
+            user.setUpdatedAt(now);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to rehash password for user {}", user.getId(), e);
+        }
+    }
 }
\ No newline at end of file
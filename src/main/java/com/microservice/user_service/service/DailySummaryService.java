@@ -0,0 +1,313 @@
+package com.microservice.user_service.service;
+
+import com.microservice.user_service.model.DailySummary;
+import com.microservice.user_service.model.DailyTotals;
+import com.microservice.user_service.model.Food;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps one summary document per user and day holding the day's macro sums and entry count.
+ * Every food write applies its delta with an atomic {@code $inc} upsert, so concurrent writes
+ * to the same day never lose an update and totals are read with a single lookup by id.
+ * <p>
+ * The food write and the summary update are separate operations, so a failure between them
+ * leaves the summary off by that entry; the nightly rebuild recomputes every summary from the
+ * food collection to repair such drift. Days with entries stored before summaries existed are
+ * filled in by a one-time backfill, enabled with {@code food.summary.backfill-on-startup}.
+ * Both run on a thread of their own under a {@link JobLeaseService} lease, so a long rebuild
+ * never delays the other scheduled jobs and only one replica rebuilds at a time.
+ */
+@Service
+public class DailySummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailySummaryService.class);
+    private static final int MAX_DAY_ATTEMPTS = 3;
+    private static final String REBUILD_JOB = "daily-summary-rebuild";
+    private static final String BACKFILL_JOB = "daily-summary-backfill";
+
+    private final MongoTemplate mongoTemplate;
+    private final JobLeaseService jobLeaseService;
+
+    // At most one rebuild running and one waiting; further triggers are dropped
+    private final ThreadPoolExecutor rebuildExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1),
+            runnable -> {
+                Thread thread = new Thread(runnable, "daily-summary-rebuild");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    @Value("${food.summary.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    @Value("${food.summary.rebuild-lease:3600000}")
+    private long leaseMillis;
+
+    // How long after an entry changed its summary increment is assumed to possibly be in flight
+    @Value("${food.summary.rebuild-grace:10000}")
+    private long graceMillis;
+
+    public DailySummaryService(MongoTemplate mongoTemplate, JobLeaseService jobLeaseService) {
+        this.mongoTemplate = mongoTemplate;
+        this.jobLeaseService = jobLeaseService;
+    }
+
+    public Optional<DailyTotals> getTotals(String userId, LocalDate date) {
+        DailySummary summary = mongoTemplate.findById(DailySummary.idOf(userId, date), DailySummary.class);
+        if (summary == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new DailyTotals(date, summary.getProtein(), summary.getCarb(), summary.getFat(),
+                summary.getCount()));
+    }
+
+    public void recordCreated(Food food) {
+        increment(food.getUserId(), food.getDate(), food.getProtein(), food.getCarb(), food.getFat(), 1);
+    }
+
+    public void recordDeleted(Food food) {
+        increment(food.getUserId(), food.getDate(), -food.getProtein(), -food.getCarb(), -food.getFat(), -1);
+    }
+
+    /**
+     * Records a batch of created entries with one upsert per day rather than per entry.
+     */
+    public void recordCreated(Collection<Food> foods) {
+        recordAll(foods, 1);
+    }
+
+    /**
+     * Records a batch of deleted entries with one upsert per day rather than per entry.
+     */
+    public void recordDeleted(Collection<Food> foods) {
+        recordAll(foods, -1);
+    }
+
+    /**
+     * @param before The entry as it was stored before the update.
+     * @param after  The entry as it is stored now.
+     */
+    public void recordUpdated(Food before, Food after) {
+        if (Objects.equals(before.getDate(), after.getDate())) {
+            increment(after.getUserId(), after.getDate(),
+                    after.getProtein() - before.getProtein(),
+                    after.getCarb() - before.getCarb(),
+                    after.getFat() - before.getFat(),
+                    0);
+            return;
+        }
+        // Moving an entry to another day takes it out of the old day's summary
+        recordDeleted(before);
+        recordCreated(after);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            rebuildExecutor.execute(() -> runLeased(BACKFILL_JOB, true));
+        }
+    }
+
+    @Scheduled(cron = "${food.summary.rebuild-cron:0 30 3 * * *}")
+    public void scheduleRebuild() {
+        rebuildExecutor.execute(() -> runLeased(REBUILD_JOB, false));
+    }
+
+    /**
+     * Recomputes all summaries from the food collection and removes summaries of days that
+     * no longer have entries.
+     * <p>
+     * Writes keep incrementing summaries while the rebuild runs, so a recomputed day only
+     * replaces a summary no write has touched since the rebuild started. A day whose entries
+     * changed shortly before or during the rebuild may have been read by the aggregation
+     * before its increment landed, so it is not replaced from the bulk pass either; such days
+     * are recomputed one by one, each replacing the summary only if its revision has not moved
+     * since it was read, and left for the next rebuild while their last change is still within
+     * {@code food.summary.rebuild-grace}.
+     * <p>
+     * Deleted entries leave no trace in the food collection, so a delete whose decrement
+     * lands between the aggregation and the replacement of its day is counted twice until the
+     * next rebuild.
+     */
+    public void rebuild() {
+        Instant startedAt = Instant.now();
+        LocalDateTime changedSince = LocalDateTime.ofInstant(startedAt, ZoneId.systemDefault())
+                .minus(Duration.ofMillis(graceMillis));
+        long rebuilt = 0;
+        List<DailySummary> deferred = new ArrayList<>();
+        try (Stream<DailySummary> sums = mongoTemplate.aggregateStream(sumByDay(), Food.class, DailySummary.class)) {
+            for (DailySummary sum : (Iterable<DailySummary>) sums::iterator) {
+                if (changedSince(sum, changedSince)) {
+                    deferred.add(sum);
+                    continue;
+                }
+                Query unchanged = byId(sum.getUserId(), sum.getDate()).addCriteria(Criteria.where("updatedAt").lt(startedAt));
+                try {
+                    mongoTemplate.upsert(unchanged, replaceWith(sum), DailySummary.class);
+                    rebuilt++;
+                } catch (DuplicateKeyException e) {
+                    // The summary exists but was written since the rebuild started
+                    deferred.add(sum);
+                }
+            }
+        }
+
+        long skipped = 0;
+        for (DailySummary sum : deferred) {
+            if (rebuildDay(sum.getUserId(), sum.getDate())) {
+                rebuilt++;
+            } else {
+                skipped++;
+            }
+        }
+
+        // Neither rebuilt nor written since the rebuild started: the day has no entries left
+        long removed = mongoTemplate.remove(Query.query(Criteria.where("updatedAt").lt(startedAt)), DailySummary.class)
+                .getDeletedCount();
+        logger.info("Rebuilt {} daily summaries, removed {} stale ones, skipped {} under recent writes",
+                rebuilt, removed, skipped);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void runLeased(String job, boolean once) {
+        try {
+            if (!jobLeaseService.tryAcquire(job, Duration.ofMillis(leaseMillis))) {
+                logger.info("Skipping {}: another instance holds its lease or it has already run", job);
+                return;
+            }
+            rebuild();
+            if (once) {
+                jobLeaseService.complete(job);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Unable to run {}: {}", job, e.getMessage());
+        }
+    }
+
+    private boolean rebuildDay(String userId, LocalDate date) {
+        for (int attempt = 0; attempt < MAX_DAY_ATTEMPTS; attempt++) {
+            DailySummary current = mongoTemplate.findById(DailySummary.idOf(userId, date), DailySummary.class);
+            if (current == null) {
+                return false;
+            }
+            DailySummary sum = mongoTemplate.aggregate(
+                    sumByDay(Aggregation.match(Criteria.where("userId").is(userId).and("date").is(date))),
+                    Food.class, DailySummary.class).getUniqueMappedResult();
+            if (sum != null && changedSince(sum, LocalDateTime.now().minus(Duration.ofMillis(graceMillis)))) {
+                return false;
+            }
+
+            Query unchanged = byId(userId, date).addCriteria(Criteria.where("revision").is(current.getRevision()));
+            boolean replaced = sum == null
+                    ? mongoTemplate.remove(unchanged, DailySummary.class).getDeletedCount() > 0
+                    : mongoTemplate.updateFirst(unchanged, replaceWith(sum), DailySummary.class).getMatchedCount() > 0;
+            if (replaced) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean changedSince(DailySummary sum, LocalDateTime since) {
+        return sum.getLastChangedAt() != null && !sum.getLastChangedAt().isBefore(since);
+    }
+
+    private static Aggregation sumByDay(AggregationOperation... filters) {
+        List<AggregationOperation> stages = new ArrayList<>(List.of(filters));
+        stages.add(Aggregation.group("userId", "date")
+                .sum("protein").as("protein")
+                .sum("carb").as("carb")
+                .sum("fat").as("fat")
+                .count().as("count")
+                .max("updatedAt").as("lastChangedAt"));
+        stages.add(Aggregation.project("protein", "carb", "fat", "count", "lastChangedAt")
+                .and("_id.userId").as("userId")
+                .and("_id.date").as("date")
+                .andExclude("_id"));
+        return Aggregation.newAggregation(stages);
+    }
+
+    private static Update replaceWith(DailySummary sum) {
+        return new Update()
+                .set("userId", sum.getUserId())
+                .set("date", sum.getDate())
+                .set("protein", sum.getProtein())
+                .set("carb", sum.getCarb())
+                .set("fat", sum.getFat())
+                .set("count", sum.getCount())
+                .set("updatedAt", Instant.now())
+                .inc("revision", 1);
+    }
+
+    private void recordAll(Collection<Food> foods, int sign) {
+        Map<String, DayDelta> days = new LinkedHashMap<>();
+        for (Food food : foods) {
+            DayDelta delta = new DayDelta(food.getUserId(), food.getDate(), sign * food.getProtein(),
+                    sign * food.getCarb(), sign * food.getFat(), sign);
+            days.merge(DailySummary.idOf(food.getUserId(), food.getDate()), delta, DayDelta::plus);
+        }
+        for (DayDelta day : days.values()) {
+            increment(day.userId(), day.date(), day.protein(), day.carb(), day.fat(), day.count());
+        }
+    }
+
+    private void increment(String userId, LocalDate date, double protein, double carb, double fat, int count) {
+        Update update = new Update()
+                .inc("protein", protein)
+                .inc("carb", carb)
+                .inc("fat", fat)
+                .inc("count", count)
+                .inc("revision", 1)
+                .set("updatedAt", Instant.now())
+                .setOnInsert("userId", userId)
+                .setOnInsert("date", date);
+        mongoTemplate.upsert(byId(userId, date), update, DailySummary.class);
+    }
+
+    private static Query byId(String userId, LocalDate date) {
+        return Query.query(Criteria.where("_id").is(DailySummary.idOf(userId, date)));
+    }
+
+    private record DayDelta(String userId, LocalDate date, double protein, double carb, double fat, int count) {
+        private DayDelta plus(DayDelta other) {
+            return new DayDelta(userId, date, protein + other.protein, carb + other.carb, fat + other.fat,
+                    count + other.count);
+        }
+    }
+}
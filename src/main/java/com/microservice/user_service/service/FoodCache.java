@@ -0,0 +1,129 @@
+package com.microservice.user_service.service;
+
+import com.microservice.user_service.model.Food;
+import com.microservice.user_service.model.FoodInvalidation;
+import com.microservice.user_service.util.BoundedCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-process cache of food reads: the entries of one user on one date, as returned by
+ * {@link FoodService#getAllFood}, and single entries by id. A user's entries only change
+ * through {@link FoodService}, which evicts exactly the days and entries each write touches
+ * and publishes them on the {@link FoodInvalidationBus} for the other instances to evict.
+ * Besides bounding how long memory is held for idle users, the time to live caps staleness
+ * should an invalidation from a peer never arrive.
+ * <p>
+ * A peer's write bumps the user's food version at once but only evicts here on the next poll
+ * of the bus. Each day is therefore cached with the version read before it was loaded, and
+ * is only served to readers that read the same version or an older one, so a list is never
+ * sent under an ETag that promises writes it does not contain.
+ * <p>
+ * Cached lists and entries are shared between callers and must not be modified.
+ */
+@Component
+public class FoodCache implements FoodInvalidationBus.Listener {
+
+    private final BoundedCache<DayKey, CachedDay> days;
+    private final BoundedCache<String, Food> entries;
+    private final FoodInvalidationBus invalidationBus;
+
+    public FoodCache(@Value("${food.cache.enabled:true}") boolean enabled,
+                     @Value("${food.cache.max-days:10000}") int maxDays,
+                     @Value("${food.cache.max-entries:50000}") int maxEntries,
+                     @Value("${food.cache.ttl:600000}") long ttlMillis,
+                     FoodInvalidationBus invalidationBus,
+                     MeterRegistry meterRegistry) {
+        this.days = new BoundedCache<>("food.days", enabled ? maxDays : 0, ttlMillis, meterRegistry);
+        this.entries = new BoundedCache<>("food.entries", enabled ? maxEntries : 0, ttlMillis, meterRegistry);
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(this);
+    }
+
+    public boolean isEnabled() {
+        return days.isEnabled() || entries.isEnabled();
+    }
+
+    /**
+     * @param minVersion The user's food version the caller read before this call.
+     * @return The day's entries if they were loaded at {@code minVersion} or later.
+     */
+    public Optional<List<Food>> getDay(String userId, LocalDate date, long minVersion) {
+        CachedDay day = days.get(new DayKey(userId, date));
+        if (day == null || day.version() < minVersion) {
+            return Optional.empty();
+        }
+        return Optional.of(day.foods());
+    }
+
+    /**
+     * @return The stamp to pass to {@link #putDay}, taken before the day is read from the database.
+     */
+    public long dayStamp(String userId, LocalDate date) {
+        return days.stamp(new DayKey(userId, date));
+    }
+
+    /**
+     * @param version The user's food version read before the entries were loaded.
+     */
+    public void putDay(String userId, LocalDate date, List<Food> foods, long version, long stamp) {
+        days.put(new DayKey(userId, date), new CachedDay(version, List.copyOf(foods)), stamp);
+    }
+
+    public Optional<Food> getEntry(String id) {
+        return Optional.ofNullable(entries.get(id));
+    }
+
+    /**
+     * @return The stamp to pass to {@link #putEntry}, taken before the entry is read from the database.
+     */
+    public long entryStamp(String id) {
+        return entries.stamp(id);
+    }
+
+    public void putEntry(Food food, long stamp) {
+        entries.put(food.getId(), food, stamp);
+    }
+
+    /**
+     * Evicts the entry and the day it was on here and on the other instances; called after
+     * every write that created, changed or removed it.
+     */
+    public void evict(Food food) {
+        FoodInvalidation invalidation = new FoodInvalidation(food.getUserId(), food.getDate(), food.getId());
+        evict(invalidation);
+        invalidationBus.publish(invalidation);
+    }
+
+    @Override
+    public void onInvalidations(Collection<FoodInvalidation> invalidations) {
+        invalidations.forEach(this::evict);
+    }
+
+    @Override
+    public void onInvalidationsMissed() {
+        evictAll();
+    }
+
+    private void evict(FoodInvalidation invalidation) {
+        entries.invalidate(invalidation.getFoodId());
+        days.invalidate(new DayKey(invalidation.getUserId(), invalidation.getDate()));
+    }
+
+    public void evictAll() {
+        days.invalidateAll();
+        entries.invalidateAll();
+    }
+
+    private record DayKey(String userId, LocalDate date) {
+    }
+
+    private record CachedDay(long version, List<Food> foods) {
+    }
+}
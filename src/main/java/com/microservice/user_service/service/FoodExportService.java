@@ -0,0 +1,129 @@
+package com.microservice.user_service.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.user_service.model.Food;
+import com.microservice.user_service.repository.FoodRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's whole food history straight from a Mongo cursor to the response.
+ * Documents are fetched in cursor batches and written one at a time, so memory use does not
+ * grow with the history, and a slow client simply blocks the write and with it the next fetch.
+ */
+@Service
+public class FoodExportService {
+
+    private static final String CSV_HEADER = "id,date,name,protein,carb,fat,createdAt,updatedAt";
+
+    private final FoodRepository foodRepository;
+    private final ObjectMapper objectMapper;
+
+    public FoodExportService(FoodRepository foodRepository, ObjectMapper objectMapper) {
+        this.foodRepository = foodRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format parse(String format) {
+            try {
+                return Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Unsupported export format");
+            }
+        }
+    }
+
+    public void export(String userId, Format format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        try (Stream<Food> foods = foodRepository.streamByUserIdOrderByDateAscIdAsc(userId)) {
+            if (format == Format.CSV) {
+                writeCsv(foods.iterator(), writer);
+            } else {
+                writeNdjson(foods.iterator(), writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Iterator<Food> foods, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        while (foods.hasNext()) {
+            objectMapper.writeValue(generator, foods.next());
+            generator.flush();
+            writer.write('\n');
+        }
+    }
+
+    private void writeCsv(Iterator<Food> foods, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (foods.hasNext()) {
+            Food food = foods.next();
+            writer.write(csvValue(food.getId()));
+            writer.write(',');
+            writer.write(csvValue(food.getDate()));
+            writer.write(',');
+            writer.write(csvValue(food.getName()));
+            writer.write(',');
+            writer.write(Double.toString(food.getProtein()));
+            writer.write(',');
+            writer.write(Double.toString(food.getCarb()));
+            writer.write(',');
+            writer.write(Double.toString(food.getFat()));
+            writer.write(',');
+            writer.write(csvValue(food.getCreatedAt()));
+            writer.write(',');
+            writer.write(csvValue(food.getUpdatedAt()));
+            writer.write('\n');
+        }
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // Keep spreadsheets from evaluating user-entered names as formulas
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,31 @@
+package com.microservice.user_service.service;
+
+import com.microservice.user_service.model.FoodInvalidation;
+
+import java.util.Collection;
+
+/**
+ * Carries food cache invalidations between the instances of the service: each instance
+ * publishes the entries and days its own writes changed and evicts those published by the
+ * others. Delivery may be batched and delayed, so a peer can serve a changed entry from its
+ * cache for up to the bus's delivery delay.
+ */
+public interface FoodInvalidationBus {
+
+    /**
+     * Queues an invalidation for the other instances; it may be sent in a later batch.
+     */
+    void publish(FoodInvalidation invalidation);
+
+    void subscribe(Listener listener);
+
+    interface Listener {
+
+        void onInvalidations(Collection<FoodInvalidation> invalidations);
+
+        /**
+         * Called when invalidations may have been lost, so nothing cached can be trusted.
+         */
+        void onInvalidationsMissed();
+    }
+}
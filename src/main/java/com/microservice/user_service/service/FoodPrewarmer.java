@@ -0,0 +1,68 @@
+package com.microservice.user_service.service;
+
+import com.microservice.user_service.model.UserLoggedInEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads today's entries of a user who just logged in into the food cache, when
+ * {@code food.cache.prewarm-on-login} is set, so the first screen is served from memory.
+ * The reads run on a small pool of their own so they never hold a thread other work needs;
+ * logins arriving while its queue is full are not prewarmed.
+ */
+@Component
+public class FoodPrewarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodPrewarmer.class);
+
+    private final FoodService foodService;
+    private final boolean enabled;
+    private final ThreadPoolExecutor executor;
+
+    public FoodPrewarmer(FoodService foodService,
+                         @Value("${food.cache.prewarm-on-login:false}") boolean enabled,
+                         @Value("${food.cache.prewarm.threads:1}") int threads,
+                         @Value("${food.cache.prewarm.queue-capacity:100}") int queueCapacity) {
+        this.foodService = foodService;
+        this.enabled = enabled;
+        int poolSize = Math.max(threads, 1);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "food-prewarm-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @EventListener
+    public void onUserLoggedIn(UserLoggedInEvent event) {
+        if (!enabled) {
+            return;
+        }
+        String userId = event.getUserId();
+        executor.execute(() -> {
+            try {
+                foodService.prewarm(userId);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to prewarm food cache for user {}", userId, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,16 +1,34 @@
 package com.microservice.user_service.service;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.microservice.user_service.model.DailyTotals;
 import com.microservice.user_service.model.Food;
+import com.microservice.user_service.model.FoodPatch;
 import com.microservice.user_service.repository.FoodRepository;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class FoodService {
@@ -18,6 +36,27 @@ public class FoodService {
     @Autowired
     private FoodRepository foodRepository;
 
+    @Autowired
+    private DailySummaryService dailySummaryService;
+
+    @Autowired
+    private FoodVersionService foodVersionService;
+
+    @Autowired
+    private FoodCache foodCache;
+
+    @Value("${food.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${food.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${food.range.max-days:92}")
+    private int maxRangeDays;
+
+    @Value("${food.batch.max-size:100}")
+    private int maxBatchSize;
+
     public void setFoodRepository(FoodRepository foodRepository) {
         this.foodRepository = foodRepository;
     }
@@ -25,24 +64,234 @@ public class FoodService {
 
     public Food createFood(Food food) {
         validateFood(food);
+        // A client-supplied version would make the save an update of an existing entry
+        food.setVersion(null);
         food.setCreatedAt(LocalDateTime.now());
         food.setUpdatedAt(LocalDateTime.now());
-        return foodRepository.save(food);
+        Food createdFood = foodRepository.save(food);
+        // Bumped before the side effects, so a failing summary update cannot hide the write behind a 304
+        foodVersionService.bump(food.getUserId());
+        foodCache.evict(createdFood);
+        dailySummaryService.recordCreated(createdFood);
+        return createdFood;
+    }
+
+    /**
+     * Validates every entry before inserting any, then inserts them all in one unordered bulk
+     * write with a shared timestamp.
+     *
+     * @return One result per entry, in request order.
+     */
+    public List<BatchResult> createFoods(List<Food> foods, String userId) {
+        checkBatchSize(foods);
+        for (int i = 0; i < foods.size(); i++) {
+            try {
+                validateFood(foods.get(i));
+            } catch (ResponseStatusException e) {
+                throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Entry " + i + ": " + e.getReason());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Food food : foods) {
+            // Ids are assigned up front so each created entry can be reported with its id
+            food.setId(new ObjectId().toHexString());
+            food.setUserId(userId);
+            food.setCreatedAt(now);
+            food.setUpdatedAt(now);
+            food.setVersion(0L);
+        }
+
+        Map<Integer, Integer> failures = foodRepository.insertUnordered(foods);
+        if (failures.size() < foods.size()) {
+            foodVersionService.bump(userId);
+        }
+        List<BatchResult> results = new ArrayList<>(foods.size());
+        List<Food> created = new ArrayList<>(foods.size());
+        for (int i = 0; i < foods.size(); i++) {
+            Integer errorCode = failures.get(i);
+            if (errorCode == null) {
+                created.add(foods.get(i));
+                foodCache.evict(foods.get(i));
+                results.add(new BatchResult(i, foods.get(i).getId(), BatchStatus.CREATED, null));
+            } else {
+                results.add(new BatchResult(i, null, BatchStatus.FAILED, "Insert failed with error " + errorCode));
+            }
+        }
+        dailySummaryService.recordCreated(created);
+        return results;
+    }
+
+    /**
+     * Returns the user's entries among {@code ids} in request order; ids that do not exist or
+     * belong to another user are left out.
+     */
+    public List<Food> getFoodsByIds(List<String> ids, String userId) {
+        checkBatchSize(ids);
+        Map<String, Food> found = new HashMap<>();
+        for (Food food : foodRepository.findByIdInAndUserId(new LinkedHashSet<>(ids), userId)) {
+            found.put(food.getId(), food);
+        }
+        List<Food> foods = new ArrayList<>(found.size());
+        for (String id : new LinkedHashSet<>(ids)) {
+            Food food = found.get(id);
+            if (food != null) {
+                foods.add(food);
+            }
+        }
+        return foods;
+    }
+
+    /**
+     * Deletes the user's entries among {@code ids} in a constant number of round trips. Entries
+     * are claimed before they are read and removed, so an entry removed by concurrent batch
+     * deletes is reported and taken out of the daily summary by exactly one of them. Ids of
+     * entries that do not exist or belong to another user are reported as not found.
+     *
+     * @return One result per id, in request order.
+     */
+    public List<BatchResult> deleteFoods(List<String> ids, String userId) {
+        checkBatchSize(ids);
+        List<Food> deleted = foodRepository.deleteOwned(new LinkedHashSet<>(ids), userId);
+        if (!deleted.isEmpty()) {
+            foodVersionService.bump(userId);
+        }
+        deleted.forEach(foodCache::evict);
+        dailySummaryService.recordDeleted(deleted);
+
+        Set<String> deletedIds = new HashSet<>();
+        for (Food food : deleted) {
+            deletedIds.add(food.getId());
+        }
+        List<BatchResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            results.add(deletedIds.contains(id)
+                ? new BatchResult(i, id, BatchStatus.DELETED, null)
+                : new BatchResult(i, id, BatchStatus.NOT_FOUND, "Meal not found"));
+        }
+        return results;
     }
 
-    public List<Food> getAllFood(String date, String userId) {
-        if (date != null) {
-            LocalDate parsedDate = LocalDate.parse(date);
-            return foodRepository.findByDateAndUserId(parsedDate, userId);
+    /**
+     * @return The user's food version, to be read before the query whose result it tags.
+     */
+    public long getVersion(String userId) {
+        return foodVersionService.getVersion(userId);
+    }
+
+    /**
+     * Returns the user's entries on one date; all of a user's entries are only served page by
+     * page through {@link #getFoodPage}.
+     *
+     * @param version The user's food version from {@link #getVersion}, read before this call and
+     *                sent as the ETag of the result. A cached day loaded at an older version may
+     *                predate a write whose invalidation has not arrived yet, so it is reloaded.
+     */
+    public List<Food> getAllFood(String date, String userId, long version) {
+        if (date == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Date is required");
         }
-        return foodRepository.findByUserId(userId);
+        return getDay(userId, parseDate(date), version);
+    }
+
+    /**
+     * Loads today's entries of the user into the cache unless they are cached already.
+     */
+    public void prewarm(String userId) {
+        if (!foodCache.isEnabled()) {
+            return;
+        }
+        getDay(userId, LocalDate.now(), foodVersionService.getVersion(userId));
+    }
+
+    private List<Food> getDay(String userId, LocalDate date, long version) {
+        Optional<List<Food>> cached = foodCache.getDay(userId, date, version);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long stamp = foodCache.dayStamp(userId, date);
+        List<Food> foods = foodRepository.findByDateAndUserId(date, userId);
+        foodCache.putDay(userId, date, foods, version, stamp);
+        return foods;
+    }
+
+    /**
+     * Returns the user's entries dated from {@code from} to {@code to}, both inclusive, oldest
+     * first. The span is capped at {@code food.range.max-days} days so one request stays a
+     * bounded index range scan.
+     */
+    public List<Food> getFoodInRange(String from, String to, String userId) {
+        if (from == null || to == null) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST, "Both from and to are required");
+        }
+        LocalDate fromDate = parseDate(from);
+        LocalDate toDate = parseDate(to);
+        if (fromDate.isAfter(toDate)) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) >= maxRangeDays) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST, "Date range cannot exceed " + maxRangeDays + " days");
+        }
+        return foodRepository.findByUserIdAndDateRange(userId, fromDate, toDate);
+    }
+
+    /**
+     * Returns one page of the user's entries, newest date first. The cursor of the next page
+     * encodes the date and id of the last entry returned, so each page is a bounded range
+     * scan of the (userId, date, _id) index however long the user's history is.
+     *
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param limit  The page size, capped at the configured maximum; null for the default.
+     */
+    public FoodPage getFoodPage(String userId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        // One extra entry tells whether another page follows
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<Food> foods;
+        if (cursor == null || cursor.isEmpty()) {
+            foods = foodRepository.findByUserIdOrderByDateDescIdDesc(userId, fetchLimit);
+        } else {
+            PageCursor after = decodeCursor(cursor);
+            foods = foodRepository.findPageAfter(userId, after.date(), after.id(), fetchLimit);
+        }
+
+        if (foods.size() <= pageSize) {
+            return new FoodPage(foods, null);
+        }
+        List<Food> page = foods.subList(0, pageSize);
+        return new FoodPage(page, encodeCursor(page.get(pageSize - 1)));
+    }
+
+    public DailyTotals getDailyTotals(String date, String userId) {
+        LocalDate parsedDate = parseDate(date);
+
+        // Days not yet covered by the startup rebuild are summed by the database
+        DailyTotals totals = dailySummaryService.getTotals(userId, parsedDate)
+            .or(() -> foodRepository.sumByUserIdAndDate(userId, parsedDate))
+            .orElseGet(DailyTotals::new);
+        totals.setDate(parsedDate);
+        return totals;
     }
 
     public Food getFoodById(String id, String userId) {
-        Food food = foodRepository.findById(id)
-            .orElseThrow(() -> new ResponseStatusException(
-                HttpStatus.NOT_FOUND, "Meal not found"));
-                
+        Optional<Food> cached = foodCache.getEntry(id);
+        Food food;
+        if (cached.isPresent()) {
+            food = cached.get();
+        } else {
+            long stamp = foodCache.entryStamp(id);
+            food = foodRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(
+                    HttpStatus.NOT_FOUND, "Meal not found"));
+            foodCache.putEntry(food, stamp);
+        }
+
         if (!food.getUserId().equals(userId)) {
             throw new ResponseStatusException(
                 HttpStatus.FORBIDDEN, "Access denied");
@@ -52,22 +301,217 @@ public class FoodService {
     }
 
     public Food updateFood(String id, Food food, String userId) {
+        return updateFood(id, food, userId, null);
+    }
+
+    /**
+     * Replaces the entry's values with a single conditional update on {@code _id} and
+     * {@code userId}; whether a miss was a missing or a foreign entry is only looked up then.
+     *
+     * @param expectedVersions The versions the client's If-Match accepts, or null to update unconditionally.
+     */
+    public Food updateFood(String id, Food food, String userId, List<Long> expectedVersions) {
         validateFood(food);
-        Food existingFood = getFoodById(id, userId);
-        
-        existingFood.setName(food.getName());
-        existingFood.setProtein(food.getProtein());
-        existingFood.setCarb(food.getCarb());
-        existingFood.setFat(food.getFat());
-        existingFood.setDate(food.getDate());
-        existingFood.setUpdatedAt(LocalDateTime.now());
-        
-        return foodRepository.save(existingFood);
+        LocalDateTime now = LocalDateTime.now();
+        // The version is incremented by the template as part of the same update
+        Update update = new Update()
+            .set("name", food.getName())
+            .set("protein", food.getProtein())
+            .set("carb", food.getCarb())
+            .set("fat", food.getFat())
+            .set("date", food.getDate())
+            .set("updatedAt", now);
+
+        Optional<Food> previous = expectedVersions == null
+            ? foodRepository.findAndModifyOwned(id, userId, update)
+            : foodRepository.findAndModifyOwned(id, userId, versionIn(expectedVersions), update);
+        Food previousFood = previous.orElseThrow(() -> missingFood(id, userId, expectedVersions));
+        Food savedFood = new Food(previousFood.getId(), food.getName(), food.getProtein(), food.getCarb(),
+            food.getFat(), food.getDate(), previousFood.getUserId(), previousFood.getCreatedAt(), now,
+            versionOf(previousFood) + 1);
+        foodVersionService.bump(userId);
+        foodCache.evict(previousFood);
+        foodCache.evict(savedFood);
+        dailySummaryService.recordUpdated(previousFood, savedFood);
+        return savedFood;
+    }
+
+    public Food patchFood(String id, FoodPatch patch, String userId) {
+        return patchFood(id, patch, userId, null);
+    }
+
+    /**
+     * Sets only the fields present in the patch. The write is conditional on at least one of
+     * them differing from the stored value, so a patch that changes nothing never reaches the
+     * oplog; only then, or on a miss, is the entry read to tell the cases apart.
+     *
+     * @param expectedVersions The versions the client's If-Match accepts, or null to patch unconditionally.
+     */
+    public Food patchFood(String id, FoodPatch patch, String userId, List<Long> expectedVersions) {
+        validatePatch(patch);
+        Update update = new Update();
+        List<Criteria> changed = new ArrayList<>();
+        setIfPresent(update, changed, "name", patch.getName());
+        setIfPresent(update, changed, "protein", patch.getProtein());
+        setIfPresent(update, changed, "carb", patch.getCarb());
+        setIfPresent(update, changed, "fat", patch.getFat());
+        setIfPresent(update, changed, "date", patch.getDate());
+        if (changed.isEmpty()) {
+            return checkVersion(getFoodById(id, userId), expectedVersions);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        update.set("updatedAt", now);
+
+        Criteria condition = new Criteria().orOperator(changed);
+        if (expectedVersions != null) {
+            condition = new Criteria().andOperator(condition, versionIn(expectedVersions));
+        }
+        Optional<Food> previous = foodRepository.findAndModifyOwned(id, userId, condition, update);
+        if (previous.isEmpty()) {
+            // Missing, foreign, modified since the client read it, or already holding the patched values
+            return checkVersion(getFoodById(id, userId), expectedVersions);
+        }
+
+        Food previousFood = previous.get();
+        Food savedFood = new Food(previousFood.getId(),
+            patch.getName() != null ? patch.getName() : previousFood.getName(),
+            patch.getProtein() != null ? patch.getProtein() : previousFood.getProtein(),
+            patch.getCarb() != null ? patch.getCarb() : previousFood.getCarb(),
+            patch.getFat() != null ? patch.getFat() : previousFood.getFat(),
+            patch.getDate() != null ? patch.getDate() : previousFood.getDate(),
+            previousFood.getUserId(), previousFood.getCreatedAt(), now, versionOf(previousFood) + 1);
+        foodVersionService.bump(userId);
+        foodCache.evict(previousFood);
+        foodCache.evict(savedFood);
+        dailySummaryService.recordUpdated(previousFood, savedFood);
+        return savedFood;
     }
 
     public void deleteFood(String id, String userId) {
-        Food food = getFoodById(id, userId);
-        foodRepository.delete(food);
+        deleteFood(id, userId, null);
+    }
+
+    /**
+     * @param expectedVersions The versions the client's If-Match accepts, or null to delete unconditionally.
+     */
+    public void deleteFood(String id, String userId, List<Long> expectedVersions) {
+        Optional<Food> deleted = expectedVersions == null
+            ? foodRepository.deleteByIdAndUserId(id, userId)
+            : foodRepository.findAndRemoveOwned(id, userId, versionIn(expectedVersions));
+        Food food = deleted.orElseThrow(() -> missingFood(id, userId, expectedVersions));
+        foodVersionService.bump(userId);
+        foodCache.evict(food);
+        dailySummaryService.recordDeleted(food);
+    }
+
+    private static long versionOf(Food food) {
+        return food.getVersion() == null ? 0 : food.getVersion();
+    }
+
+    private ResponseStatusException missingFood(String id, String userId, List<Long> expectedVersions) {
+        if (expectedVersions != null) {
+            // Throws if the entry is missing or foreign; otherwise only the version can have failed
+            getFoodById(id, userId);
+            return modifiedFood();
+        }
+        if (foodRepository.existsById(id)) {
+            return new ResponseStatusException(
+                HttpStatus.FORBIDDEN, "Access denied");
+        }
+        return new ResponseStatusException(
+            HttpStatus.NOT_FOUND, "Meal not found");
+    }
+
+    private static Food checkVersion(Food food, List<Long> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.contains(versionOf(food))) {
+            throw modifiedFood();
+        }
+        return food;
+    }
+
+    private static ResponseStatusException modifiedFood() {
+        return new ResponseStatusException(
+            HttpStatus.PRECONDITION_FAILED, "Meal has been modified");
+    }
+
+    private static Criteria versionIn(List<Long> expectedVersions) {
+        List<Long> versions = new ArrayList<>(expectedVersions);
+        if (versions.contains(0L)) {
+            // Matches entries stored before versioning, which have no version field
+            versions.add(null);
+        }
+        return Criteria.where("version").in(versions);
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST, "Invalid date format");
+        }
+    }
+
+    private void checkBatchSize(List<?> batch) {
+        if (batch == null || batch.isEmpty()) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST, "Batch must not be empty");
+        }
+        if (batch.size() > maxBatchSize) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST, "Batch cannot exceed " + maxBatchSize + " entries");
+        }
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (limit < 1) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST, "Limit must be positive");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    private static String encodeCursor(Food last) {
+        String position = last.getDate() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PageCursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            String id = position.substring(separator + 1);
+            if (separator < 0 || !ObjectId.isValid(id)) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new PageCursor(LocalDate.parse(position.substring(0, separator)), new ObjectId(id));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    private static void setIfPresent(Update update, List<Criteria> changed, String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+            changed.add(Criteria.where(field).ne(value));
+        }
+    }
+
+    private void validatePatch(FoodPatch patch) {
+        if (patch.getName() != null && patch.getName().trim().isEmpty()) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST, "Name is required");
+        }
+        if ((patch.getProtein() != null && patch.getProtein() < 0)
+                || (patch.getCarb() != null && patch.getCarb() < 0)
+                || (patch.getFat() != null && patch.getFat() < 0)) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST, "Nutritional values cannot be negative");
+        }
     }
 
     private void validateFood(Food food) {
@@ -84,4 +528,18 @@ public class FoodService {
                 HttpStatus.BAD_REQUEST, "Date is required");
         }
     }
-}
\ No newline at end of file
+
+    public record FoodPage(List<Food> items, String nextCursor) {
+    }
+
+    public enum BatchStatus { CREATED, DELETED, NOT_FOUND, FAILED }
+
+    /**
+     * @param index The position of the entry or id in the request.
+     */
+    public record BatchResult(int index, String id, BatchStatus status, String error) {
+    }
+
+    private record PageCursor(LocalDate date, ObjectId id) {
+    }
+}
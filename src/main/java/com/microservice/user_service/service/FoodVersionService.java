@@ -0,0 +1,39 @@
+package com.microservice.user_service.service;
+
+import com.microservice.user_service.model.FoodVersion;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps a per-user counter of writes to food entries, used as the ETag of food reads.
+ * <p>
+ * The counter is bumped after a write has been applied, and readers take it before running
+ * their query. A reader racing a write can therefore pair new data with the old tag, which only
+ * costs the client one more full response, but never old data with the new tag, which would
+ * hide the write from it.
+ */
+@Service
+public class FoodVersionService {
+
+    private final MongoTemplate mongoTemplate;
+
+    public FoodVersionService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * @return The user's current version; 0 if their entries were never written.
+     */
+    public long getVersion(String userId) {
+        FoodVersion version = mongoTemplate.findById(userId, FoodVersion.class);
+        return version == null ? 0 : version.getVersion();
+    }
+
+    public void bump(String userId) {
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(userId)),
+                new Update().inc("version", 1), FoodVersion.class);
+    }
+}
@@ -0,0 +1,28 @@
+package com.microservice.user_service.service;
+
+import com.microservice.user_service.model.FoodInvalidation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers every invalidation synchronously to all listeners in this JVM, the publisher's
+ * own included; evicting an entry twice is harmless. Suits a single instance and tests that
+ * run several caches side by side.
+ */
+public class InProcessFoodInvalidationBus implements FoodInvalidationBus {
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(FoodInvalidation invalidation) {
+        for (Listener listener : listeners) {
+            listener.onInvalidations(List.of(invalidation));
+        }
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,60 @@
+package com.microservice.user_service.service;
+
+import com.microservice.user_service.model.JobLease;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Lets background jobs run on one instance at a time across all replicas.
+ * <p>
+ * A lease is one document per job, taken with a conditional upsert: it matches only if the
+ * lease has expired or is already held by this instance, so the unique {@code _id} turns a
+ * concurrent attempt into a duplicate key error instead of a second holder. Leases are not
+ * released when the job finishes, so replicas whose trigger fires a little later do not run
+ * the same job again within the lease time.
+ */
+@Service
+public class JobLeaseService {
+
+    private final MongoTemplate mongoTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public JobLeaseService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * @return Whether this instance now holds the lease; false if another instance holds it
+     *         or the job was marked completed.
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        Instant now = Instant.now();
+        Query available = Query.query(Criteria.where("_id").is(name).and("completedAt").is(null)
+                .orOperator(Criteria.where("expiresAt").lt(now), Criteria.where("owner").is(instanceId)));
+        Update update = new Update()
+                .set("owner", instanceId)
+                .set("expiresAt", now.plus(ttl));
+        try {
+            mongoTemplate.upsert(available, update, JobLease.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Marks a one-time job as done, so no instance acquires its lease again.
+     */
+    public void complete(String name) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(name).and("owner").is(instanceId)),
+                new Update().set("completedAt", Instant.now()), JobLease.class);
+    }
+}
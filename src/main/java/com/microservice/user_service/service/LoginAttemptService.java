@@ -0,0 +1,148 @@
+package com.microservice.user_service.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts failed logins per email and per client IP over a sliding window, so that a
+ * credential-stuffing burst is turned away before it reaches the password hash check.
+ * <p>
+ * Each key keeps only two counters (the current and previous fixed window) and the window
+ * start; the sliding count is the current counter plus the previous one weighted by how much
+ * of it still overlaps the window. The table is capped at {@code login.throttle.max-entries}
+ * keys and stale keys are swept periodically.
+ */
+@Service
+public class LoginAttemptService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptService.class);
+
+    private final Map<String, FailureWindow> failures = new ConcurrentHashMap<>();
+
+    @Value("${login.throttle.max-failures-per-email:5}")
+    private int maxFailuresPerEmail;
+
+    @Value("${login.throttle.max-failures-per-ip:20}")
+    private int maxFailuresPerIp;
+
+    @Value("${login.throttle.window:900000}")
+    private long windowMillis;
+
+    @Value("${login.throttle.max-entries:100000}")
+    private int maxEntries;
+
+    /**
+     * @return 0 if a login attempt is allowed, otherwise the milliseconds until it will be.
+     */
+    public long blockedForMillis(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        return Math.max(
+                blockedForMillis(emailKey(email), maxFailuresPerEmail, now),
+                blockedForMillis(ipKey(clientIp), maxFailuresPerIp, now));
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        recordFailure(emailKey(email), now);
+        recordFailure(ipKey(clientIp), now);
+    }
+
+    public void recordSuccess(String email) {
+        failures.remove(emailKey(email));
+    }
+
+    @Scheduled(fixedDelayString = "${login.throttle.cleanup-interval:60000}")
+    public void evictStale() {
+        long now = System.currentTimeMillis();
+        failures.values().removeIf(window -> window.isStale(now, windowMillis));
+    }
+
+    private long blockedForMillis(String key, int maxFailures, long now) {
+        if (key == null) {
+            return 0;
+        }
+        FailureWindow window = failures.get(key);
+        return window == null ? 0 : window.blockedForMillis(now, windowMillis, maxFailures);
+    }
+
+    private void recordFailure(String key, long now) {
+        if (key == null) {
+            return;
+        }
+        FailureWindow window = failures.get(key);
+        if (window == null) {
+            if (failures.size() >= maxEntries) {
+                evictStale();
+                if (failures.size() >= maxEntries) {
+                    logger.warn("Login throttle table is full, not tracking {}", key);
+                    return;
+                }
+            }
+            window = failures.computeIfAbsent(key, k -> new FailureWindow(now));
+        }
+        window.increment(now, windowMillis);
+    }
+
+    private static String emailKey(String email) {
+        return email == null ? null : "email:" + email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String clientIp) {
+        return clientIp == null ? null : "ip:" + clientIp;
+    }
+
+    private static final class FailureWindow {
+        private long windowStart;
+        private int current;
+        private int previous;
+
+        private FailureWindow(long now) {
+            this.windowStart = now;
+        }
+
+        private synchronized void increment(long now, long windowMillis) {
+            roll(now, windowMillis);
+            current++;
+        }
+
+        private synchronized long blockedForMillis(long now, long windowMillis, int maxFailures) {
+            roll(now, windowMillis);
+            long elapsed = now - windowStart;
+            double remainingWeight = (double) (windowMillis - elapsed) / windowMillis;
+            if (current + previous * remainingWeight < maxFailures) {
+                return 0;
+            }
+            if (current >= maxFailures) {
+                // Released once the current window, then the previous one, has slid far enough out
+                double weightNeeded = (double) maxFailures / current;
+                long releaseElapsed = (long) Math.ceil((1 - weightNeeded) * windowMillis);
+                return windowMillis - elapsed + releaseElapsed + 1;
+            }
+            // Time until the previous window's weight falls far enough
+            double weightNeeded = (double) (maxFailures - current) / previous;
+            long releaseElapsed = (long) Math.ceil((1 - weightNeeded) * windowMillis);
+            return Math.max(1, releaseElapsed - elapsed + 1);
+        }
+
+        private synchronized boolean isStale(long now, long windowMillis) {
+            return now - windowStart >= 2 * windowMillis;
+        }
+
+        private void roll(long now, long windowMillis) {
+            long elapsedWindows = (now - windowStart) / windowMillis;
+            if (elapsedWindows == 0) {
+                return;
+            }
+            previous = elapsedWindows == 1 ? current : 0;
+            current = 0;
+            windowStart += elapsedWindows * windowMillis;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.microservice.user_service.service;
+
+import com.microservice.user_service.model.FoodInvalidation;
+import com.microservice.user_service.model.FoodInvalidationBatch;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Exchanges invalidations through the FoodInvalidations collection. Invalidations published
+ * between two ticks are deduplicated and inserted together, at most {@code maxBatchSize} to a
+ * document, and every tick reads the batches other instances created since the previous one.
+ * A write therefore reaches the peers' caches within about two poll intervals, whatever the
+ * write rate.
+ * <p>
+ * Each poll reaches back {@code overlap} before the previous one, so a batch whose insert
+ * became visible late or whose publisher's clock runs behind is still seen; batches already
+ * applied are skipped. An instance that could not poll for longer than batches are kept may
+ * have missed some, and evicts everything.
+ */
+public class MongoFoodInvalidationBus implements FoodInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoFoodInvalidationBus.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final Clock clock;
+    private final int maxBatchSize;
+    private final Duration overlap;
+    private final Duration retention;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by itself
+    private final Set<FoodInvalidation> pending = new LinkedHashSet<>();
+
+    // Only used by the polling thread: batches applied within the overlap, by creation time
+    private final Map<ObjectId, Instant> applied = new HashMap<>();
+    private Instant lastPolled;
+
+    public MongoFoodInvalidationBus(MongoTemplate mongoTemplate, Clock clock, int maxBatchSize,
+                                    Duration overlap, Duration retention) {
+        this.mongoTemplate = mongoTemplate;
+        this.clock = clock;
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+        this.overlap = overlap;
+        this.retention = retention;
+        this.lastPolled = clock.instant();
+    }
+
+    @Override
+    public void publish(FoodInvalidation invalidation) {
+        synchronized (pending) {
+            pending.add(invalidation);
+        }
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${food.cache.invalidation.poll-interval:1000}")
+    public void flushAndPoll() {
+        flush();
+        poll();
+    }
+
+    public void flush() {
+        List<FoodInvalidation> invalidations;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            invalidations = new ArrayList<>(pending);
+            pending.clear();
+        }
+
+        Instant now = clock.instant();
+        List<FoodInvalidationBatch> batches = new ArrayList<>();
+        for (int from = 0; from < invalidations.size(); from += maxBatchSize) {
+            List<FoodInvalidation> chunk = invalidations.subList(from, Math.min(from + maxBatchSize, invalidations.size()));
+            batches.add(new FoodInvalidationBatch(null, instanceId, now, now.plus(retention), new ArrayList<>(chunk)));
+        }
+        try {
+            mongoTemplate.insert(batches, FoodInvalidationBatch.class);
+        } catch (RuntimeException e) {
+            // Sent again with the next flush; peers keep serving the old values until then
+            logger.warn("Failed to publish {} food cache invalidations: {}", invalidations.size(), e.getMessage());
+            synchronized (pending) {
+                pending.addAll(invalidations);
+            }
+        }
+    }
+
+    public void poll() {
+        Instant now = clock.instant();
+        if (Duration.between(lastPolled, now).compareTo(retention) >= 0) {
+            // Batches published since the last poll may already have expired
+            listeners.forEach(Listener::onInvalidationsMissed);
+            applied.clear();
+            lastPolled = now;
+        }
+
+        Instant since = lastPolled.minus(overlap);
+        Query query = Query.query(Criteria.where("createdAt").gte(since).and("origin").ne(instanceId))
+                .with(Sort.by("createdAt"));
+        List<FoodInvalidationBatch> batches;
+        try {
+            batches = mongoTemplate.find(query, FoodInvalidationBatch.class);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to poll food cache invalidations: {}", e.getMessage());
+            return;
+        }
+
+        List<FoodInvalidation> invalidations = new ArrayList<>();
+        for (FoodInvalidationBatch batch : batches) {
+            if (applied.putIfAbsent(batch.getId(), batch.getCreatedAt()) == null) {
+                invalidations.addAll(batch.getInvalidations());
+            }
+        }
+        if (!invalidations.isEmpty()) {
+            listeners.forEach(listener -> listener.onInvalidations(invalidations));
+        }
+        applied.values().removeIf(createdAt -> createdAt.isBefore(since));
+        lastPolled = now;
+    }
+}
@@ -0,0 +1,122 @@
+package com.microservice.user_service.service;
+
+import com.microservice.user_service.model.RefreshToken;
+import com.microservice.user_service.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh-expiration:2592000000}")
+    private long refreshExpiration;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    /**
+     * Issues the first refresh token of a new family, typically right after a login.
+     *
+     * @param userId The user the token is issued to.
+     * @return The opaque refresh token to hand to the client.
+     */
+    public String issue(String userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for its successor. Each token can be used exactly once;
+     * presenting a token that was already used revokes every token of its family, since
+     * either the client or an attacker is holding a stolen copy.
+     *
+     * @param rawToken The refresh token presented by the client.
+     * @return The user the token belongs to together with the replacement token.
+     */
+    public Rotation rotate(String rawToken) {
+        String tokenHash = hash(rawToken);
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(RefreshTokenService::invalidToken);
+
+        Instant now = Instant.now();
+        if (refreshToken.getExpiresAt() == null || !refreshToken.getExpiresAt().isAfter(now)) {
+            throw invalidToken();
+        }
+        // The conditional update also catches two concurrent rotations of the same token
+        if (refreshToken.getUsedAt() != null || refreshTokenRepository.markUsed(tokenHash, now) == 0) {
+            logger.warn("Refresh token reuse detected for user {}, revoking family {}",
+                    refreshToken.getUserId(), refreshToken.getFamilyId());
+            refreshTokenRepository.deleteByFamilyId(refreshToken.getFamilyId());
+            throw invalidToken();
+        }
+
+        String replacement = issue(refreshToken.getUserId(), refreshToken.getFamilyId());
+        return new Rotation(refreshToken.getUserId(), replacement);
+    }
+
+    /**
+     * Revokes the presented refresh token together with every token rotated from it.
+     */
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(refreshToken -> refreshTokenRepository.deleteByFamilyId(refreshToken.getFamilyId()));
+    }
+
+    /**
+     * Revokes every refresh token held by the user.
+     */
+    public void revokeAll(String userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    private String issue(String userId, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setUserId(userId);
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(now.plusMillis(refreshExpiration));
+        refreshTokenRepository.insert(refreshToken);
+
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static ResponseStatusException invalidToken() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+    }
+
+    public record Rotation(String userId, String refreshToken) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.microservice.user_service.service;
+
+import com.microservice.user_service.model.RevokedToken;
+import com.microservice.user_service.repository.RevokedTokenRepository;
+import com.microservice.user_service.util.BloomFilter;
+import com.microservice.user_service.util.JwtPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks access tokens revoked before their expiry.
+ * <p>
+ * Revocations are persisted in Mongo (expiring with the token) and mirrored in memory as a
+ * Bloom filter in front of an exact map, so the check on every request is a few hash probes
+ * and only Bloom positives consult the map. The in-memory copy is rebuilt from Mongo on a
+ * fixed delay, which drops expired entries and picks up revocations made by other instances.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private long expectedEntries;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile State state;
+
+    // Held while a local revocation is added and while a rebuilt state is merged and swapped in
+    private final Object swapLock = new Object();
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    /**
+     * Revokes the token until it expires.
+     */
+    public void revoke(JwtPrincipal principal) {
+        if (principal.tokenId() == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        revokedTokenRepository.save(new RevokedToken(principal.tokenId(), principal.userId(),
+                Instant.ofEpochMilli(principal.expiresAt()), now));
+        currentState();
+        synchronized (swapLock) {
+            state.add(principal.tokenId(), principal.expiresAt());
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        State current = currentState();
+        return current.bloomFilter.mightContain(tokenId) && current.revoked.containsKey(tokenId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:60000}")
+    public synchronized void rebuild() {
+        long now = System.currentTimeMillis();
+        List<RevokedToken> persisted = revokedTokenRepository.findByExpiresAtAfter(Instant.ofEpochMilli(now));
+
+        State loaded = state;
+        long size = persisted.size() + (loaded == null ? 0 : loaded.revoked.size());
+        State rebuilt = new State(Math.max(expectedEntries, size * 2), falsePositiveRate);
+        for (RevokedToken token : persisted) {
+            rebuilt.add(token.getId(), token.getExpiresAt().toEpochMilli());
+        }
+
+        // Carry over local revocations that raced with the reload before any reader can see the new state
+        synchronized (swapLock) {
+            State previous = state;
+            if (previous != null) {
+                previous.revoked.forEach((tokenId, expiresAt) -> {
+                    if (expiresAt > now) {
+                        rebuilt.add(tokenId, expiresAt);
+                    }
+                });
+            }
+            state = rebuilt;
+        }
+        logger.debug("Rebuilt token revocation list with {} entries", rebuilt.revoked.size());
+    }
+
+    private State currentState() {
+        State current = state;
+        if (current == null) {
+            synchronized (this) {
+                if (state == null) {
+                    rebuild();
+                }
+                current = state;
+            }
+        }
+        return current;
+    }
+
+    private static final class State {
+        private final BloomFilter bloomFilter;
+        private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+        private State(long expectedEntries, double falsePositiveRate) {
+            this.bloomFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+        }
+
+        private void add(String tokenId, long expiresAt) {
+            revoked.put(tokenId, expiresAt);
+            bloomFilter.add(tokenId);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.microservice.user_service.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.user_service.model.User;
+import com.microservice.user_service.repository.UserRepository;
+import com.microservice.user_service.util.UserValidator;
+import org.bson.types.ObjectId;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates users in bulk from newline-delimited JSON. Rows are read as they arrive, checked
+ * like a registration, and handled in batches: each batch's passwords are hashed in slices on
+ * a pool of {@code parallelism} threads, then the batch is written with one unordered bulk
+ * insert so duplicates only reject their own row. One result line per row is written back as
+ * soon as its batch completes, followed by a summary line. Rows past {@code maxRows} are not read.
+ * <p>
+ * The pool is separate from the {@code PasswordHashingExecutor} that serves logins and
+ * registrations, so an import never makes them wait or fail. Concurrent imports share it;
+ * a request whose slice finds every thread busy waits for one to free up.
+ */
+@Service
+public class UserProvisioningService {
+
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int parallelism;
+    private final int maxRows;
+    private final ThreadPoolExecutor hashingPool;
+    // One per thread, so slices wait here instead of being rejected by the pool
+    private final Semaphore hashingSlots;
+
+    /**
+     * @param parallelism The number of hashing threads; 0 uses half the CPU count, leaving the
+     *                    rest to logins and registrations.
+     */
+    public UserProvisioningService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                                   ObjectMapper objectMapper,
+                                   @Value("${provisioning.batch-size:500}") int batchSize,
+                                   @Value("${provisioning.parallelism:0}") int parallelism,
+                                   @Value("${provisioning.max-rows:10000}") int maxRows) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(batchSize, 1);
+        this.parallelism = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.maxRows = Math.max(maxRows, 1);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashingPool = new ThreadPoolExecutor(this.parallelism, this.parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.parallelism),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "provisioning-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.hashingSlots = new Semaphore(this.parallelism);
+    }
+
+    public Summary provision(InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Summary summary = new Summary();
+        List<Row> batch = new ArrayList<>(batchSize);
+
+        String line;
+        int lineNumber = 0;
+        int rows = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (++rows > maxRows) {
+                write(output, summary.record(new Result(lineNumber, Status.INVALID, null,
+                        "Request cannot exceed " + maxRows + " rows")));
+                summary.truncated = true;
+                break;
+            }
+
+            User user;
+            try {
+                user = objectMapper.readValue(line, User.class);
+            } catch (JsonProcessingException e) {
+                write(output, summary.record(new Result(lineNumber, Status.INVALID, null, "Malformed JSON")));
+                continue;
+            }
+            String error = UserValidator.validate(user);
+            if (error != null) {
+                write(output, summary.record(new Result(lineNumber, Status.INVALID, null, error)));
+                continue;
+            }
+
+            batch.add(new Row(lineNumber, user));
+            if (batch.size() == batchSize) {
+                insertBatch(batch, summary, output);
+                batch.clear();
+            }
+        }
+        insertBatch(batch, summary, output);
+
+        write(output, summary);
+        output.flush();
+        return summary;
+    }
+
+    private void insertBatch(List<Row> batch, Summary summary, OutputStream output) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        hashPasswords(batch);
+
+        List<User> users = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            User user = row.user();
+            // Ids are assigned up front so each created row can be reported with its id
+            user.setId(new ObjectId().toHexString());
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
+            users.add(user);
+        }
+
+        Map<Integer, Integer> failures = userRepository.insertUnordered(users);
+        for (int i = 0; i < batch.size(); i++) {
+            Row row = batch.get(i);
+            Integer errorCode = failures.get(i);
+            Result result;
+            if (errorCode == null) {
+                result = new Result(row.line(), Status.CREATED, row.user().getId(), null);
+            } else if (errorCode == DUPLICATE_KEY_ERROR) {
+                result = new Result(row.line(), Status.DUPLICATE, null, "Username or email already exists");
+            } else {
+                result = new Result(row.line(), Status.FAILED, null, "Insert failed with error " + errorCode);
+            }
+            write(output, summary.record(result));
+        }
+        output.flush();
+    }
+
+    private void hashPasswords(List<Row> batch) throws IOException {
+        int sliceSize = (batch.size() + parallelism - 1) / parallelism;
+        List<CompletableFuture<Void>> slices = new ArrayList<>(parallelism);
+        try {
+            for (int from = 0; from < batch.size(); from += sliceSize) {
+                List<Row> slice = batch.subList(from, Math.min(from + sliceSize, batch.size()));
+                hashingSlots.acquire();
+                try {
+                    slices.add(CompletableFuture.runAsync(() -> hash(slice), hashingPool)
+                            .whenComplete((result, error) -> hashingSlots.release()));
+                } catch (RejectedExecutionException e) {
+                    hashingSlots.release();
+                    throw e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a hashing thread");
+        } finally {
+            slices.forEach(CompletableFuture::join);
+        }
+    }
+
+    private void hash(List<Row> rows) {
+        for (Row row : rows) {
+            row.user().setPassword(passwordEncoder.encode(row.user().getPassword()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    private void write(OutputStream output, Object value) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(value));
+        output.write('\n');
+    }
+
+    private record Row(int line, User user) {
+    }
+
+    public enum Status {
+        CREATED, DUPLICATE, INVALID, FAILED
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Result(int line, Status status, String userId, String error) {
+    }
+
+    public static class Summary {
+        private int created;
+        private int duplicates;
+        private int invalid;
+        private int failed;
+        private boolean truncated;
+
+        private Result record(Result result) {
+            switch (result.status()) {
+                case CREATED -> created++;
+                case DUPLICATE -> duplicates++;
+                case INVALID -> invalid++;
+                case FAILED -> failed++;
+            }
+            return result;
+        }
+
+        public int getCreated() {
+            return created;
+        }
+
+        public int getDuplicates() {
+            return duplicates;
+        }
+
+        public int getInvalid() {
+            return invalid;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return Whether rows past the limit were left unread.
+         */
+        public boolean isTruncated() {
+            return truncated;
+        }
+    }
+}
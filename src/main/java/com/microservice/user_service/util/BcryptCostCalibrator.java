@@ -0,0 +1,46 @@
+package com.microservice.user_service.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the bcrypt work factor for the current machine: the highest cost whose hash time
+ * stays within the target latency, but never below the configured minimum. Each step of
+ * the cost doubles the work, so the search stops as soon as the next step would overshoot.
+ */
+public final class BcryptCostCalibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BcryptCostCalibrator.class);
+
+    private static final String SAMPLE_PASSWORD = "bcrypt-calibration-sample";
+    private static final int SAMPLES = 3;
+
+    private BcryptCostCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        // Warm up the JIT so the first measurement is not dominated by interpretation
+        new BCryptPasswordEncoder(4).encode(SAMPLE_PASSWORD);
+
+        int strength = minStrength;
+        long millis = measure(strength);
+        while (strength < maxStrength && millis * 2 <= targetMillis) {
+            strength++;
+            millis = measure(strength);
+        }
+        logger.info("Calibrated bcrypt cost {} ({} ms per hash, target {} ms)", strength, millis, targetMillis);
+        return strength;
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000;
+    }
+}
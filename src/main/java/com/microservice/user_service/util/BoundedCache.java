@@ -0,0 +1,249 @@
+package com.microservice.user_service.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache bounded by size and time to live, with W-TinyLFU admission: new entries go into a
+ * small LRU window, and an entry pushed out of the window only replaces the least recently
+ * used entry of the main region if the {@link FrequencySketch} has seen its key more often.
+ * A burst of keys read once therefore cannot flush the keys that are read again and again.
+ * <p>
+ * Keys are spread by hash over independent segments, each with its own lock, window, main
+ * region and sketch, so concurrent reads of different keys rarely wait on each other. Small
+ * caches keep a single segment, since splitting them would make admission too coarse.
+ * <p>
+ * A value loaded from the database is only stored if nothing in its segment was invalidated
+ * since the caller took its {@link #stamp(Object)}, so a load that raced with a write never
+ * caches the value from before it, while invalidations of keys in other segments leave it be.
+ */
+public class BoundedCache<K, V> {
+
+    // Segments are only split off while each keeps at least this many entries
+    private static final int MIN_SEGMENT_SIZE = 256;
+    private static final int MAX_SEGMENTS = 64;
+
+    private final Segment<K, V>[] segments;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    /**
+     * Publishes cache.gets, cache.evictions, cache.size and cache.hit.ratio tagged with the name.
+     *
+     * @param maxSize    The maximum number of entries; 0 disables the cache.
+     * @param ttlMillis  How long an entry is served after it was stored.
+     */
+    public BoundedCache(String name, int maxSize, long ttlMillis, MeterRegistry meterRegistry) {
+        this(name, maxSize, ttlMillis, meterRegistry, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    public BoundedCache(String name, int maxSize, long ttlMillis, MeterRegistry meterRegistry,
+                        LongSupplier nanoClock) {
+        int size = Math.max(maxSize, 0);
+        int segmentCount = segmentCount(size);
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // Spread the remainder so the segment sizes add up to maxSize
+            segments[i] = new Segment<>(size / segmentCount + (i < size % segmentCount ? 1 : 0));
+        }
+        this.ttlNanos = Math.max(ttlMillis, 0) * 1_000_000L;
+        this.nanoClock = nanoClock;
+        this.hits = meterRegistry.counter("cache.gets", "cache", name, "result", "hit");
+        this.misses = meterRegistry.counter("cache.gets", "cache", name, "result", "miss");
+        this.evictions = meterRegistry.counter("cache.evictions", "cache", name);
+        Gauge.builder("cache.size", this, BoundedCache::size).tag("cache", name).register(meterRegistry);
+        Gauge.builder("cache.hit.ratio", this, BoundedCache::hitRatio).tag("cache", name).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return segments[0].windowSize > 0;
+    }
+
+    /**
+     * @return The cached value, or null if the key is not cached or its entry has expired.
+     */
+    public V get(K key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Segment<K, V> segment = segmentFor(key);
+        Entry<V> entry;
+        boolean expired;
+        synchronized (segment) {
+            segment.sketch.increment(key);
+            entry = segment.get(key);
+            expired = entry != null && entry.expiresAt() - nanoClock.getAsLong() <= 0;
+            if (expired) {
+                segment.remove(key);
+            }
+        }
+        if (entry == null || expired) {
+            if (expired) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    /**
+     * @return The value to pass to {@link #put}, taken before loading the value to cache.
+     */
+    public long stamp(K key) {
+        return segmentFor(key).invalidations;
+    }
+
+    /**
+     * Stores a value loaded after {@code stamp} was taken, unless an invalidation happened since.
+     */
+    public void put(K key, V value, long stamp) {
+        if (!isEnabled()) {
+            return;
+        }
+        Segment<K, V> segment = segmentFor(key);
+        boolean evicted;
+        synchronized (segment) {
+            // Invalidations count up before they remove anything under the segment's lock, so
+            // one that removed this key before now has already moved the count past the stamp
+            if (stamp != segment.invalidations) {
+                return;
+            }
+            evicted = segment.put(key, new Entry<>(value, nanoClock.getAsLong() + ttlNanos), nanoClock);
+        }
+        if (evicted) {
+            evictions.increment();
+        }
+    }
+
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.invalidations++;
+            segment.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.invalidations++;
+                segment.window.clear();
+                segment.main.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.window.size() + segment.main.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        // Mix the high bits in, as the segment count is a power of two
+        hash ^= hash >>> 16;
+        return segments[hash & (segments.length - 1)];
+    }
+
+    private static int segmentCount(int size) {
+        int wanted = Math.min(Runtime.getRuntime().availableProcessors() * 4, MAX_SEGMENTS);
+        int count = 1;
+        while (count * 2 <= wanted && size / (count * 2) >= MIN_SEGMENT_SIZE) {
+            count *= 2;
+        }
+        return count;
+    }
+
+    private double hitRatio() {
+        double requests = hits.count() + misses.count();
+        return requests == 0 ? 0 : hits.count() / requests;
+    }
+
+    /**
+     * One W-TinyLFU region; every method must be called holding the segment's lock.
+     */
+    private static final class Segment<K, V> {
+
+        private final Map<K, Entry<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+        private final Map<K, Entry<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+        private final FrequencySketch sketch;
+        private final int windowSize;
+        private final int mainSize;
+
+        // Only written under the lock; volatile so stamp(key) can read it without taking it
+        private volatile long invalidations;
+
+        private Segment(int size) {
+            this.windowSize = size == 0 ? 0 : Math.max(1, size / 100);
+            this.mainSize = size - windowSize;
+            this.sketch = new FrequencySketch(size);
+        }
+
+        private Entry<V> get(K key) {
+            Entry<V> entry = window.get(key);
+            return entry != null ? entry : main.get(key);
+        }
+
+        private void remove(K key) {
+            window.remove(key);
+            main.remove(key);
+        }
+
+        /**
+         * @return Whether an entry left the cache to make room.
+         */
+        private boolean put(K key, Entry<V> entry, LongSupplier nanoClock) {
+            if (main.containsKey(key)) {
+                main.put(key, entry);
+                return false;
+            }
+            window.put(key, entry);
+            if (window.size() <= windowSize) {
+                return false;
+            }
+            Iterator<Map.Entry<K, Entry<V>>> eldest = window.entrySet().iterator();
+            Map.Entry<K, Entry<V>> candidate = eldest.next();
+            eldest.remove();
+            return admit(candidate.getKey(), candidate.getValue(), nanoClock);
+        }
+
+        private boolean admit(K key, Entry<V> entry, LongSupplier nanoClock) {
+            if (main.size() < mainSize) {
+                main.put(key, entry);
+                return false;
+            }
+            Iterator<Map.Entry<K, Entry<V>>> eldest = main.entrySet().iterator();
+            if (eldest.hasNext()) {
+                Map.Entry<K, Entry<V>> victim = eldest.next();
+                boolean victimExpired = victim.getValue().expiresAt() - nanoClock.getAsLong() <= 0;
+                if (victimExpired || sketch.frequency(key) > sketch.frequency(victim.getKey())) {
+                    eldest.remove();
+                    main.put(key, entry);
+                }
+            }
+            // Either the victim or the candidate leaves the cache
+            return true;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
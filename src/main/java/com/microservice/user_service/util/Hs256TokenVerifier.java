@@ -0,0 +1,212 @@
+package com.microservice.user_service.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Single-pass verifier for compact HS256 tokens.
+ * <p>
+ * Works directly on the characters of the token: the signing input is copied into a
+ * per-thread scratch buffer, signed with a per-thread {@link Mac} that was keyed once,
+ * and compared in constant time against the decoded signature. Only the {@code sub},
+ * {@code jti} and {@code exp} claims are read from the payload. Tokens whose header is not one of the
+ * known HS256 headers are reported as unsupported so the caller can fall back to Nimbus.
+ */
+public class Hs256TokenVerifier {
+
+    private static final String[] SUPPORTED_HEADERS = {
+            encodeHeader("{\"alg\":\"HS256\"}"),
+            encodeHeader("{\"alg\":\"HS256\",\"typ\":\"JWT\"}"),
+            encodeHeader("{\"typ\":\"JWT\",\"alg\":\"HS256\"}")
+    };
+
+    private static final int SIGNATURE_LENGTH = 32;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final ThreadLocal<State> state;
+
+    public Hs256TokenVerifier(byte[] secret) {
+        SecretKeySpec key = new SecretKeySpec(secret.clone(), "HmacSHA256");
+        this.state = ThreadLocal.withInitial(() -> new State(key));
+    }
+
+    /**
+     * Returns true if the token carries one of the HS256 headers this verifier understands.
+     */
+    public boolean supports(String token) {
+        int firstDot = token.indexOf('.');
+        if (firstDot < 0) {
+            return false;
+        }
+        for (String header : SUPPORTED_HEADERS) {
+            if (header.length() == firstDot && token.regionMatches(0, header, 0, firstDot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifies a token accepted by {@link #supports(String)}.
+     *
+     * @param token     The compact JWT.
+     * @param nowMillis The current time, used for the expiry check.
+     * @return The principal, or null if the signature, structure or expiry is invalid.
+     */
+    public JwtPrincipal verify(String token, long nowMillis) {
+        int firstDot = token.indexOf('.');
+        int secondDot = token.indexOf('.', firstDot + 1);
+        if (firstDot < 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return null;
+        }
+
+        State s = state.get();
+        byte[] input = s.scratch(secondDot);
+        for (int i = 0; i < secondDot; i++) {
+            char c = token.charAt(i);
+            if (c > 0x7f) {
+                return null;
+            }
+            input[i] = (byte) c;
+        }
+
+        try {
+            s.mac.update(input, 0, secondDot);
+            s.mac.doFinal(s.expected, 0);
+        } catch (GeneralSecurityException e) {
+            s.mac.reset();
+            return null;
+        }
+
+        int signatureLength = decode(token, secondDot + 1, token.length(), s.actual);
+        if (signatureLength != SIGNATURE_LENGTH || !constantTimeEquals(s.expected, s.actual)) {
+            return null;
+        }
+
+        // The signing input is no longer needed, so decode the payload over it
+        int payloadLength = decode(token, firstDot + 1, secondDot, input);
+        if (payloadLength < 0) {
+            return null;
+        }
+        return readClaims(input, payloadLength, nowMillis);
+    }
+
+    private static JwtPrincipal readClaims(byte[] payload, int length, long nowMillis) {
+        String subject = null;
+        String tokenId = null;
+        long expiresAt = -1;
+        try (JsonParser parser = JSON_FACTORY.createParser(payload, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("sub".equals(field) && value == JsonToken.VALUE_STRING) {
+                    subject = parser.getText();
+                } else if ("jti".equals(field) && value == JsonToken.VALUE_STRING) {
+                    tokenId = parser.getText();
+                } else if ("exp".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    expiresAt = parser.getLongValue() * 1000L;
+                } else if ("exp".equals(field) && value == JsonToken.VALUE_NUMBER_FLOAT) {
+                    // NumericDate may carry fractional seconds; truncated as Nimbus does
+                    expiresAt = (long) parser.getDoubleValue() * 1000L;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        if (subject == null || expiresAt <= nowMillis) {
+            return null;
+        }
+        return new JwtPrincipal(subject, tokenId, expiresAt);
+    }
+
+    /**
+     * Decodes unpadded base64url characters in {@code [from, to)} into {@code out}.
+     *
+     * @return The number of bytes written, or -1 on malformed input or overflow.
+     */
+    private static int decode(String src, int from, int to, byte[] out) {
+        int length = to - from;
+        if (length % 4 == 1) {
+            return -1;
+        }
+        int decodedLength = length / 4 * 3 + Math.max(length % 4 - 1, 0);
+        if (decodedLength > out.length) {
+            return -1;
+        }
+
+        int bits = 0;
+        int bitCount = 0;
+        int pos = 0;
+        for (int i = from; i < to; i++) {
+            int value = valueOf(src.charAt(i));
+            if (value < 0) {
+                return -1;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                out[pos++] = (byte) (bits >> bitCount);
+            }
+        }
+        return pos;
+    }
+
+    private static int valueOf(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a' + 26;
+        if (c >= '0' && c <= '9') return c - '0' + 52;
+        if (c == '-') return 62;
+        if (c == '_') return 63;
+        return -1;
+    }
+
+    private static boolean constantTimeEquals(byte[] a, byte[] b) {
+        int diff = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            diff |= a[i] ^ b[i];
+        }
+        return diff == 0;
+    }
+
+    private static String encodeHeader(String json) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class State {
+        private final Mac mac;
+        private final byte[] expected = new byte[SIGNATURE_LENGTH];
+        private final byte[] actual = new byte[SIGNATURE_LENGTH];
+        private byte[] buffer = new byte[512];
+
+        private State(SecretKeySpec key) {
+            try {
+                this.mac = Mac.getInstance("HmacSHA256");
+                this.mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        }
+
+        private byte[] scratch(int length) {
+            if (buffer.length < length) {
+                buffer = new byte[Math.max(length, buffer.length * 2)];
+            }
+            return buffer;
+        }
+    }
+}
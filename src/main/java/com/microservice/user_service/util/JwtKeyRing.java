@@ -0,0 +1,231 @@
+package com.microservice.user_service.util;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * ES256 signing keys indexed by {@code kid}.
+ * <p>
+ * Keys are loaded from a JWK set file (the first key, or the one named by
+ * {@code jwt.keys.active-kid}, signs) and reloaded when the file changes, so every instance
+ * signs and verifies with the same keys. Only with {@code jwt.keys.generate} set, for a single
+ * instance, are they instead generated in memory and rotated on a fixed interval while the
+ * previous keys stay available for verification; tokens then do not survive a restart.
+ * Signers, verifiers and the public JWKS document are built once per rotation and swapped in
+ * atomically, so the request path only does a map lookup.
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    @Value("${jwt.signing.mode:hmac}")
+    private String signingMode;
+
+    @Value("${jwt.keys.jwks-file:}")
+    private String jwksFile;
+
+    @Value("${jwt.keys.generate:false}")
+    private boolean generateKeys;
+
+    @Value("${jwt.keys.active-kid:}")
+    private String activeKid;
+
+    @Value("${jwt.keys.rotation-interval:86400000}")
+    private long rotationInterval;
+
+    @Value("${jwt.keys.retained:2}")
+    private int retainedKeys;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private long loadedFileTimestamp;
+
+    @PostConstruct
+    void init() {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!jwksFile.isBlank()) {
+            reloadIfModified();
+        } else if (generateKeys) {
+            rotate();
+        }
+        // Keys generated per instance would not verify on the other replicas
+        if (snapshot.activeSigner == null) {
+            throw new IllegalStateException("jwt.signing.mode=es256 requires signing keys in jwt.keys.jwks-file"
+                    + " (or jwt.keys.generate=true for a single instance)");
+        }
+    }
+
+    public boolean isEnabled() {
+        return "es256".equalsIgnoreCase(signingMode);
+    }
+
+    /**
+     * @return The {@code kid} of the key currently used for signing, or null if none is loaded.
+     */
+    public String getActiveKeyId() {
+        return snapshot.activeKeyId;
+    }
+
+    /**
+     * Signs the claims with the active key, stamping its {@code kid} into the header.
+     */
+    public SignedJWT sign(JWTClaimsSet claims) throws JOSEException {
+        Snapshot current = snapshot;
+        if (current.activeSigner == null) {
+            throw new JOSEException("No ES256 signing key is loaded");
+        }
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.ES256)
+                .keyID(current.activeKeyId)
+                .build();
+        SignedJWT signedJWT = new SignedJWT(header, claims);
+        signedJWT.sign(current.activeSigner);
+        return signedJWT;
+    }
+
+    /**
+     * @return The verifier for the given key id, or null if the key is unknown or retired.
+     */
+    public JWSVerifier getVerifier(String kid) {
+        return kid == null ? null : snapshot.verifiers.get(kid);
+    }
+
+    /**
+     * @return The public keys as a serialized JWK set.
+     */
+    public String getPublicJwks() {
+        return snapshot.publicJwks;
+    }
+
+    /**
+     * Generates a new active key and retires the oldest ones beyond {@code jwt.keys.retained}.
+     */
+    public synchronized void rotate() {
+        try {
+            ECKey key = new ECKeyGenerator(Curve.P_256)
+                    .keyID(UUID.randomUUID().toString())
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.ES256)
+                    .generate();
+
+            List<ECKey> keys = new ArrayList<>();
+            keys.add(key);
+            for (ECKey previous : snapshot.keys) {
+                if (keys.size() > retainedKeys) {
+                    break;
+                }
+                keys.add(previous);
+            }
+            snapshot = Snapshot.of(keys, key, System.currentTimeMillis());
+            logger.info("Rotated JWT signing key, active kid {}", key.getKeyID());
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Unable to generate ES256 signing key", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys.check-interval:60000}")
+    public void refresh() {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!jwksFile.isBlank()) {
+            reloadIfModified();
+        } else if (generateKeys && System.currentTimeMillis() - snapshot.createdAt >= rotationInterval) {
+            rotate();
+        }
+    }
+
+    private synchronized void reloadIfModified() {
+        File file = new File(jwksFile);
+        long lastModified = file.lastModified();
+        if (lastModified == 0 || lastModified == loadedFileTimestamp) {
+            return;
+        }
+        try {
+            List<ECKey> keys = new ArrayList<>();
+            for (JWK jwk : JWKSet.load(file).getKeys()) {
+                if (jwk instanceof ECKey ecKey && ecKey.isPrivate() && ecKey.getKeyID() != null
+                        && Curve.P_256.equals(ecKey.getCurve())) {
+                    keys.add(ecKey);
+                }
+            }
+            if (keys.isEmpty()) {
+                logger.error("No ES256 private keys found in {}", jwksFile);
+                return;
+            }
+            ECKey active = keys.stream()
+                    .filter(key -> activeKid.equals(key.getKeyID()))
+                    .findFirst()
+                    .orElse(keys.get(0));
+            snapshot = Snapshot.of(keys, active, System.currentTimeMillis());
+            loadedFileTimestamp = lastModified;
+            logger.info("Loaded {} JWT signing keys from {}, active kid {}", keys.size(), jwksFile, active.getKeyID());
+        } catch (IOException | ParseException | JOSEException e) {
+            logger.error("Unable to load JWT signing keys from {}: {}", jwksFile, e.getMessage());
+        }
+    }
+
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(List.of(), null, null, Map.of(),
+                new JWKSet().toString(), 0);
+
+        private final List<ECKey> keys;
+        private final String activeKeyId;
+        private final JWSSigner activeSigner;
+        private final Map<String, JWSVerifier> verifiers;
+        private final String publicJwks;
+        private final long createdAt;
+
+        private Snapshot(List<ECKey> keys, String activeKeyId, JWSSigner activeSigner,
+                         Map<String, JWSVerifier> verifiers, String publicJwks, long createdAt) {
+            this.keys = keys;
+            this.activeKeyId = activeKeyId;
+            this.activeSigner = activeSigner;
+            this.verifiers = verifiers;
+            this.publicJwks = publicJwks;
+            this.createdAt = createdAt;
+        }
+
+        private static Snapshot of(List<ECKey> keys, ECKey active, long createdAt) throws JOSEException {
+            Map<String, JWSVerifier> verifiers = new LinkedHashMap<>();
+            List<JWK> publicKeys = new ArrayList<>();
+            for (ECKey key : keys) {
+                ECKey publicKey = key.toPublicJWK();
+                verifiers.put(key.getKeyID(), new ECDSAVerifier(publicKey));
+                publicKeys.add(publicKey);
+            }
+            return new Snapshot(List.copyOf(keys), active.getKeyID(), new ECDSASigner(active),
+                    Collections.unmodifiableMap(verifiers), new JWKSet(publicKeys).toString(), createdAt);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.microservice.user_service.util;
+
+/**
+ * The result of a successful token verification.
+ *
+ * @param userId    The subject of the token.
+ * @param tokenId   The {@code jti} of the token, or null for tokens issued without one.
+ * @param expiresAt The token expiry in epoch milliseconds.
+ */
+public record JwtPrincipal(String userId, String tokenId, long expiresAt) {
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAt <= nowMillis;
+    }
+}
@@ -4,21 +4,51 @@ import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.*;
 import com.nimbusds.jwt.*;
 
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
+
     @Value("${jwt.secret:secretsecretsecretsecret}")
     private String secretKey;
 
-    @Value("${jwt.expiration:86400000}")
+    @Value("${jwt.expiration:900000}")
     private long expirationTime;
 
+    private final JwtKeyRing keyRing;
+
+    private JWSSigner signer;
+    private JWSVerifier verifier;
+    private Hs256TokenVerifier fastVerifier;
+
+    public JwtUtil(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    @PostConstruct
+    void init() {
+        byte[] secret = this.secretKey.getBytes(StandardCharsets.UTF_8);
+        try {
+            this.signer = new MACSigner(secret);
+            this.verifier = new MACVerifier(secret);
+            this.fastVerifier = new Hs256TokenVerifier(secret);
+        } catch (JOSEException e) {
+            // Leave the signer unset; token generation and verification will fail as before
+            logger.error("JWT secret is not usable for HS256: {}", e.getMessage());
+        }
+    }
+
     /**
      * Generates a JWT token for the given userId.
      * 
@@ -30,22 +60,13 @@ public class JwtUtil {
             // Create the JWT claims
             JWTClaimsSet claims = new JWTClaimsSet.Builder()
                     .subject(userId)
+                    .jwtID(UUID.randomUUID().toString())
                     .issueTime(new Date())
                     .expirationTime(new Date(System.currentTimeMillis() + this.expirationTime))
                     .build();
 
-            // Create the JWS header with HMAC-SHA256 algorithm
-            JWSHeader header = new JWSHeader(JWSAlgorithm.HS256);
-
-            // Create the signed JWT
-            SignedJWT signedJWT = new SignedJWT(header, claims);
-
-            // Sign the JWT with the secret key
-            JWSSigner signer = new MACSigner(this.secretKey.getBytes());
-            signedJWT.sign(signer);
-
-            // Serialize the token
-            return signedJWT.serialize();
+            // Sign with the active ES256 key, or the shared secret in HMAC mode
+            return sign(claims).serialize();
 
         } catch (JOSEException e) {
             throw new RuntimeException("Error generating JWT token", e);
@@ -78,22 +99,37 @@ public class JwtUtil {
      * @return True if the token is valid, false otherwise.
      */
     public boolean validateToken(String token) {
+        return verifyToken(token) != null;
+    }
+
+    /**
+     * Verifies the provided JWT token and decodes its subject and expiry in a single parse.
+     *
+     * @param token The JWT token.
+     * @return The verified principal, or null if the token is invalid or expired.
+     */
+    public JwtPrincipal verifyToken(String token) {
+        // Fast path for the HS256 tokens this service issues in HMAC mode
+        if (!this.keyRing.isEnabled() && this.fastVerifier != null && this.fastVerifier.supports(token)) {
+            return this.fastVerifier.verify(token, System.currentTimeMillis());
+        }
+
         try {
-            // Parse the token
             SignedJWT signedJWT = SignedJWT.parse(token);
-
-            // Verify the signature
-            JWSVerifier verifier = new MACVerifier(this.secretKey.getBytes());
-            if (!signedJWT.verify(verifier)) {
-                return false;
+            JWSVerifier tokenVerifier = verifierFor(signedJWT.getHeader());
+            if (tokenVerifier == null || !signedJWT.verify(tokenVerifier)) {
+                return null;
             }
 
-            // Check token expiration
-            Date expirationTime = signedJWT.getJWTClaimsSet().getExpirationTime();
-            return expirationTime != null && expirationTime.after(new Date());
+            JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+            Date expirationTime = claims.getExpirationTime();
+            if (claims.getSubject() == null || expirationTime == null || !expirationTime.after(new Date())) {
+                return null;
+            }
+            return new JwtPrincipal(claims.getSubject(), claims.getJWTID(), expirationTime.getTime());
 
         } catch (ParseException | JOSEException e) {
-            return false; // Return false if the token is invalid
+            return null;
         }
     }
 
@@ -101,21 +137,39 @@ public class JwtUtil {
         try {
             JWTClaimsSet claims = new JWTClaimsSet.Builder()
                     .subject(userId)
+                    .jwtID(UUID.randomUUID().toString())
                     .issueTime(new Date())
                     .expirationTime(new Date(System.currentTimeMillis() + expirationOffset))
                     .build();
     
-            JWSHeader header = new JWSHeader(JWSAlgorithm.HS256);
-            SignedJWT signedJWT = new SignedJWT(header, claims);
-            JWSSigner signer = new MACSigner(this.secretKey.getBytes());
-            signedJWT.sign(signer);
-    
-            return signedJWT.serialize();
+            return sign(claims).serialize();
     
         } catch (JOSEException e) {
             throw new RuntimeException("Error generating JWT token", e);
         }
     }
 
-    
-}
\ No newline at end of file
+    private SignedJWT sign(JWTClaimsSet claims) throws JOSEException {
+        if (this.keyRing.isEnabled()) {
+            return this.keyRing.sign(claims);
+        }
+        if (this.signer == null) {
+            throw new KeyLengthException(JWSAlgorithm.HS256);
+        }
+        SignedJWT signedJWT = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        signedJWT.sign(this.signer);
+        return signedJWT;
+    }
+
+    private JWSVerifier verifierFor(JWSHeader header) {
+        JWSAlgorithm algorithm = header.getAlgorithm();
+        if (this.keyRing.isEnabled()) {
+            // Services trusting the published JWKS cannot verify secret-signed tokens, so neither does this one
+            return JWSAlgorithm.ES256.equals(algorithm) ? this.keyRing.getVerifier(header.getKeyID()) : null;
+        }
+        if (JWSAlgorithm.Family.HMAC_SHA.contains(algorithm)) {
+            return this.verifier;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.microservice.user_service.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets keyed by string.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding its theoretical arrival time (the
+ * generic cell rate algorithm): a request is admitted if that time is no further ahead of
+ * now than the burst allows, and admitting it pushes the time forward by one emission
+ * interval with a CAS. This is equivalent to a token bucket refilling at the configured
+ * rate, without a refill timestamp or a lock.
+ */
+public class TokenBucketTable {
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Tries to take one token from the key's bucket, creating it with the given limits if
+     * the key has not been seen (or was evicted).
+     *
+     * @return 0 if the request is admitted, otherwise the nanoseconds until it would be.
+     */
+    public long tryAcquire(String key, long requestsPerMinute, int burst, long nowNanos) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket(requestsPerMinute, burst, nowNanos));
+        }
+
+        while (true) {
+            long tat = bucket.theoreticalArrival.get();
+            long base = Math.max(tat, nowNanos);
+            long allowedAt = base - bucket.tolerance;
+            if (nowNanos < allowedAt) {
+                return allowedAt - nowNanos;
+            }
+            if (bucket.theoreticalArrival.compareAndSet(tat, base + bucket.interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have been full for at least {@code idleNanos}; they are
+     * indistinguishable from a freshly created bucket.
+     *
+     * @return The number of buckets removed.
+     */
+    public int evictIdle(long idleNanos, long nowNanos) {
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.theoreticalArrival.get() + idleNanos < nowNanos);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private static final class Bucket {
+        private final AtomicLong theoreticalArrival;
+        private final long interval;
+        private final long tolerance;
+
+        private Bucket(long requestsPerMinute, int burst, long nowNanos) {
+            this.interval = 60_000_000_000L / Math.max(requestsPerMinute, 1);
+            this.tolerance = (Math.max(burst, 1) - 1) * interval;
+            this.theoreticalArrival = new AtomicLong(nowNanos);
+        }
+    }
+}
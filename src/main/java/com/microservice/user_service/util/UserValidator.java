@@ -0,0 +1,40 @@
+package com.microservice.user_service.util;
+
+import com.microservice.user_service.model.User;
+
+import java.util.regex.Pattern;
+
+/**
+ * The checks a new user must pass, shared by registration and bulk provisioning so neither
+ * can store a user the other would reject.
+ */
+public final class UserValidator {
+
+    // One @, no whitespace, and a domain of non-empty labels
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s.]+(\\.[^@\\s.]+)*");
+
+    private UserValidator() {
+    }
+
+    /**
+     * @return The reason the user is invalid, or null if it is valid.
+     */
+    public static String validate(User user) {
+        if (user == null) {
+            return "User data is required";
+        }
+        if (user.getUsername() == null || user.getUsername().trim().isEmpty()) {
+            return "Username is required";
+        }
+        if (user.getEmail() == null || user.getEmail().trim().isEmpty()) {
+            return "Email is required";
+        }
+        if (!EMAIL.matcher(user.getEmail()).matches()) {
+            return "Invalid email format";
+        }
+        if (user.getPassword() == null || user.getPassword().trim().isEmpty()) {
+            return "Password is required";
+        }
+        return null;
+    }
+}
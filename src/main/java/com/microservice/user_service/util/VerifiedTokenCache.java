@@ -0,0 +1,131 @@
+package com.microservice.user_service.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded cache of tokens that have already passed signature and expiry checks.
+ * Entries are keyed by a SHA-256 digest of the token so raw tokens are never retained,
+ * and an entry is never served past the expiry of the token it was built from.
+ * <p>
+ * Once the cache is full, one caller at a time scans it for entries to evict while the
+ * others insert without waiting, so the size may briefly exceed the limit by about the number
+ * of concurrent callers.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Map<String, JwtPrincipal> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.cache.max-size:10000}") int maxSize,
+                              MeterRegistry meterRegistry) {
+        this.maxSize = enabled ? Math.max(maxSize, 0) : 0;
+        this.hits = meterRegistry.counter("jwt.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("jwt.cache.requests", "result", "miss");
+        this.evictions = meterRegistry.counter("jwt.cache.evictions");
+        Gauge.builder("jwt.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Returns the cached principal for the token, or null if the token has not been
+     * verified yet or its cached entry has expired.
+     */
+    public JwtPrincipal get(String token) {
+        if (!isEnabled()) {
+            return null;
+        }
+        String key = digest(token);
+        JwtPrincipal principal = entries.get(key);
+        if (principal == null) {
+            misses.increment();
+            return null;
+        }
+        if (principal.isExpired(System.currentTimeMillis())) {
+            if (entries.remove(key, principal)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return principal;
+    }
+
+    /**
+     * Records a token that has just been verified.
+     */
+    public void put(String token, JwtPrincipal principal) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (entries.size() >= maxSize && evicting.compareAndSet(false, true)) {
+            try {
+                evict();
+            } finally {
+                evicting.set(false);
+            }
+        }
+        entries.put(digest(token), principal);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.entrySet().removeIf(entry -> {
+            if (entry.getValue().isExpired(now)) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        });
+
+        // Still full: drop arbitrary entries so the next puts don't rescan the map
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.increment();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
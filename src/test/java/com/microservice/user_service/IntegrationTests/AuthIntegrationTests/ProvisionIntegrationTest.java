@@ -0,0 +1,65 @@
+package com.microservice.user_service.IntegrationTests.AuthIntegrationTests;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.microservice.user_service.IntegrationTests.AbstractIntegrationTest;
+import com.microservice.user_service.IntegrationTests.HttpTestUtil;
+
+public class ProvisionIntegrationTest extends AbstractIntegrationTest {
+    private HttpTestUtil httpTestUtil;
+
+    @BeforeEach
+    @Override
+    public void setUp() throws InterruptedException, IOException {
+        super.setUp();
+        httpTestUtil = new HttpTestUtil(webClient, objectMapper, baseUrl, apiKey);
+    }
+
+    @Test
+    public void provisionUsers() throws IOException, InterruptedException {
+        String usersNdjson = """
+            {"username": "bulk1", "email": "bulk1@example.com", "password": "Password123!"}
+            {"username": "bulk2", "email": "bulk2@example.com", "password": "Password123!"}
+            {"username": "bulk3", "email": "bulk1@example.com", "password": "Password123!"}
+            {"username": "bulk4", "password": "Password123!"}
+            """;
+
+        HttpResponse<String> response = httpTestUtil.sendRequest("POST", "/api/auth/provision", usersNdjson);
+
+        logger.info("Provision response status: {}", response.statusCode());
+        logger.info("Provision response body: {}", response.body());
+
+        Assertions.assertEquals(200, response.statusCode(),
+            "Expected Status Code 200 - Actual Code was: " + response.statusCode());
+
+        String[] lines = response.body().split("\n");
+        JsonNode summary = objectMapper.readTree(lines[lines.length - 1]);
+        Assertions.assertEquals(2, summary.get("created").asInt());
+        Assertions.assertEquals(1, summary.get("duplicates").asInt());
+        Assertions.assertEquals(1, summary.get("invalid").asInt());
+
+        String loginJson = """
+            {
+                "email": "bulk2@example.com",
+                "password": "Password123!"
+            }""";
+        HttpResponse<String> loginResponse = httpTestUtil.sendRequest("POST", "/api/auth/login", loginJson);
+        Assertions.assertEquals(200, loginResponse.statusCode(),
+            "Provisioned user should be able to log in - Actual Code was: " + loginResponse.statusCode());
+    }
+
+    @Test
+    public void provisionUsersWithoutApiKey() throws IOException, InterruptedException {
+        HttpTestUtil noApiKeyUtil = new HttpTestUtil(webClient, objectMapper, baseUrl, null);
+
+        HttpResponse<String> response = noApiKeyUtil.sendRequest("POST", "/api/auth/provision",
+            "{\"username\": \"bulk1\", \"email\": \"bulk1@example.com\", \"password\": \"Password123!\"}");
+
+        Assertions.assertEquals(401, response.statusCode(),
+            "Expected Status Code 401 - Actual Code was: " + response.statusCode());
+    }
+}
@@ -2,12 +2,21 @@ package com.microservice.user_service.IntegrationTests.AuthIntegrationTests;
 
 import java.io.IOException;
 import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.microservice.user_service.IntegrationTests.AbstractIntegrationTest;
 import com.microservice.user_service.IntegrationTests.HttpTestUtil;
+import com.microservice.user_service.model.User;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 
 public class RegisterIntegrationTest extends AbstractIntegrationTest {
     private HttpTestUtil httpTestUtil;
@@ -66,6 +75,40 @@ public class RegisterIntegrationTest extends AbstractIntegrationTest {
         Assertions.assertEquals("Username or email already exists", jsonResponse.get("error").asText());
     }
 
+    @Test
+    public void registerConcurrentDuplicates() throws Exception {
+        int attempts = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(attempts);
+        try {
+            List<Callable<HttpResponse<String>>> registrations = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                // Half share the email, the other half share the username
+                String registerJson = i % 2 == 0
+                    ? "{\"username\": \"racer" + i + "\", \"email\": \"race@example.com\", \"password\": \"Password123!\"}"
+                    : "{\"username\": \"racer\", \"email\": \"race" + i + "@example.com\", \"password\": \"Password123!\"}";
+                registrations.add(() -> httpTestUtil.sendRequest("POST", "/api/auth/register", registerJson));
+            }
+
+            int created = 0;
+            for (Future<HttpResponse<String>> future : executor.invokeAll(registrations)) {
+                int status = future.get().statusCode();
+                Assertions.assertTrue(status == 201 || status == 409,
+                    "Expected Status Code 201 or 409 - Actual Code was: " + status);
+                if (status == 201) {
+                    created++;
+                }
+            }
+
+            long sameEmail = mongoTemplate.count(Query.query(Criteria.where("email").is("race@example.com")), User.class);
+            long sameUsername = mongoTemplate.count(Query.query(Criteria.where("username").is("racer")), User.class);
+            Assertions.assertEquals(1, sameEmail, "Email must be registered exactly once");
+            Assertions.assertEquals(1, sameUsername, "Username must be registered exactly once");
+            Assertions.assertEquals(2, created, "Exactly one registration per shared value should succeed");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void registerWithMissingUsername() throws IOException, InterruptedException {
         String registerJson = """
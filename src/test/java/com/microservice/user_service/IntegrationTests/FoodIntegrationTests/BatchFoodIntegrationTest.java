@@ -0,0 +1,113 @@
+package com.microservice.user_service.IntegrationTests.FoodIntegrationTests;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.microservice.user_service.IntegrationTests.AbstractIntegrationTest;
+import com.microservice.user_service.IntegrationTests.HttpTestUtil;
+
+public class BatchFoodIntegrationTest extends AbstractIntegrationTest {
+    private HttpTestUtil httpTestUtil;
+
+    @BeforeEach
+    @Override
+    public void setUp() throws InterruptedException, IOException {
+        super.setUp();
+        httpTestUtil = new HttpTestUtil(webClient, objectMapper, baseUrl, apiKey);
+        String registerJson = """
+                {
+                    "username": "testuser",
+                    "email": "test@example.com",
+                    "password": "Password123!"
+                }""";
+        httpTestUtil.sendRequest("POST", "/api/auth/register", registerJson);
+
+        String loginJson = """
+                {
+                    "email": "test@example.com",
+                    "password": "Password123!"
+                }""";
+        HttpResponse<String> loginResponse = httpTestUtil.sendRequest("POST", "/api/auth/login", loginJson);
+        String authToken = httpTestUtil.parseResponse(loginResponse).get("token").asText();
+        httpTestUtil = new HttpTestUtil(webClient, objectMapper, baseUrl, apiKey, authToken);
+    }
+
+    private ArrayNode createMeal(String... names) {
+        ArrayNode foods = objectMapper.createArrayNode();
+        for (String name : names) {
+            foods.addObject()
+                    .put("name", name)
+                    .put("protein", 10.0)
+                    .put("carb", 20.0)
+                    .put("fat", 5.0)
+                    .put("date", LocalDate.now().toString());
+        }
+        return foods;
+    }
+
+    @Test
+    public void createFoods_Success() throws IOException, InterruptedException {
+        HttpResponse<String> response = httpTestUtil.sendRequest("POST", "/api/food/batch",
+            createMeal("Rice", "Chicken", "Broccoli").toString());
+
+        Assertions.assertEquals(201, response.statusCode());
+        JsonNode results = httpTestUtil.parseResponse(response);
+        Assertions.assertEquals(3, results.size());
+        for (JsonNode result : results) {
+            Assertions.assertEquals("CREATED", result.get("status").asText());
+            Assertions.assertFalse(result.get("id").asText().isEmpty());
+        }
+
+        JsonNode totals = httpTestUtil.parseResponse(
+            httpTestUtil.sendRequest("GET", "/api/food/totals?date=" + LocalDate.now(), null));
+        Assertions.assertEquals(30.0, totals.get("protein").asDouble());
+        Assertions.assertEquals(3, totals.get("count").asInt());
+    }
+
+    @Test
+    public void createFoods_InvalidEntry() throws IOException, InterruptedException {
+        ArrayNode foods = createMeal("Rice", "");
+
+        HttpResponse<String> response = httpTestUtil.sendRequest("POST", "/api/food/batch", foods.toString());
+
+        Assertions.assertEquals(400, response.statusCode());
+        Assertions.assertEquals(0, httpTestUtil.parseResponse(
+            httpTestUtil.sendRequest("GET", "/api/food", null)).size());
+    }
+
+    @Test
+    public void getAndDeleteFoodsByIds() throws IOException, InterruptedException {
+        JsonNode created = httpTestUtil.parseResponse(httpTestUtil.sendRequest("POST", "/api/food/batch",
+            createMeal("Rice", "Chicken", "Broccoli").toString()));
+        String first = created.get(0).get("id").asText();
+        String third = created.get(2).get("id").asText();
+        String missing = "000000000000000000000000";
+
+        HttpResponse<String> getResponse = httpTestUtil.sendRequest("GET",
+            "/api/food?ids=" + third + "," + missing + "," + first, null);
+        Assertions.assertEquals(200, getResponse.statusCode());
+        JsonNode foods = httpTestUtil.parseResponse(getResponse);
+        Assertions.assertEquals(2, foods.size());
+        Assertions.assertEquals("Broccoli", foods.get(0).get("name").asText());
+        Assertions.assertEquals("Rice", foods.get(1).get("name").asText());
+
+        HttpResponse<String> deleteResponse = httpTestUtil.sendRequest("DELETE",
+            "/api/food?ids=" + first + "," + missing + "," + third, null);
+        Assertions.assertEquals(200, deleteResponse.statusCode());
+        JsonNode results = httpTestUtil.parseResponse(deleteResponse);
+        Assertions.assertEquals("DELETED", results.get(0).get("status").asText());
+        Assertions.assertEquals("NOT_FOUND", results.get(1).get("status").asText());
+        Assertions.assertEquals("DELETED", results.get(2).get("status").asText());
+
+        JsonNode totals = httpTestUtil.parseResponse(
+            httpTestUtil.sendRequest("GET", "/api/food/totals?date=" + LocalDate.now(), null));
+        Assertions.assertEquals(1, totals.get("count").asInt());
+        Assertions.assertEquals(10.0, totals.get("protein").asDouble());
+    }
+}
@@ -0,0 +1,73 @@
+package com.microservice.user_service.IntegrationTests.FoodIntegrationTests;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import com.microservice.user_service.config.MongoIndexConfig;
+import com.microservice.user_service.model.Food;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+/**
+ * Checks the query plans of the hot Food queries. The in-memory server used by the other
+ * integration tests cannot explain queries, so this runs only against a real MongoDB
+ * given by the MONGODB_URI environment variable.
+ */
+@EnabledIfEnvironmentVariable(named = "MONGODB_URI", matches = ".+")
+public class FoodIndexIntegrationTest {
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        mongoClient = MongoClients.create(System.getenv("MONGODB_URI"));
+        String database = "food_index_test_" + UUID.randomUUID().toString().substring(0, 8);
+        mongoTemplate = new MongoTemplate(new SimpleMongoClientDatabaseFactory(mongoClient, database));
+
+        for (int i = 0; i < 50; i++) {
+            Food food = new Food(null, "Meal " + i, 10, 20, 5, LocalDate.of(2024, 1, 1).plusDays(i % 10),
+                "user" + (i % 5), LocalDateTime.now(), LocalDateTime.now(), null);
+            mongoTemplate.insert(food);
+        }
+        new MongoIndexConfig(mongoTemplate).ensureIndexes();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        mongoTemplate.getDb().drop();
+        mongoClient.close();
+    }
+
+    @Test
+    public void findByUserIdUsesIndex() {
+        assertIndexScan(Query.query(Criteria.where("userId").is("user1")));
+    }
+
+    @Test
+    public void findByDateAndUserIdUsesIndex() {
+        assertIndexScan(Query.query(Criteria.where("date").is(LocalDate.of(2024, 1, 2)).and("userId").is("user1")));
+    }
+
+    private void assertIndexScan(Query query) {
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        Document filter = queryMapper.getMappedObject(query.getQueryObject(),
+            mongoTemplate.getConverter().getMappingContext().getPersistentEntity(Food.class));
+
+        Document explain = mongoTemplate.getCollection("Food").find(filter).explain();
+        String winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+
+        Assertions.assertTrue(winningPlan.contains("IXSCAN"), "Expected an index scan but the plan was: " + winningPlan);
+        Assertions.assertFalse(winningPlan.contains("COLLSCAN"), "Expected no collection scan but the plan was: " + winningPlan);
+    }
+}
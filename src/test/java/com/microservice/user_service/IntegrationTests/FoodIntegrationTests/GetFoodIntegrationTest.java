@@ -1,8 +1,13 @@
 package com.microservice.user_service.IntegrationTests.FoodIntegrationTests;
 
 import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +16,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.microservice.user_service.IntegrationTests.AbstractIntegrationTest;
 import com.microservice.user_service.IntegrationTests.HttpTestUtil;
+import com.microservice.user_service.service.DailySummaryService;
 
 public class GetFoodIntegrationTest extends AbstractIntegrationTest {
     private HttpTestUtil httpTestUtil;
@@ -77,6 +83,95 @@ public class GetFoodIntegrationTest extends AbstractIntegrationTest {
         Assertions.assertEquals(userId, jsonResponse.get(0).get("userId").asText());
     }
 
+    @Test
+    public void getAllFood_Paginated() throws IOException, InterruptedException {
+        createTestFood("Test Meal 3");
+
+        HttpResponse<String> firstPage = httpTestUtil.sendRequest("GET", "/api/food?limit=2", null);
+
+        Assertions.assertEquals(200, firstPage.statusCode());
+        Assertions.assertEquals(2, httpTestUtil.parseResponse(firstPage).size());
+        String cursor = firstPage.headers().firstValue("X-Next-Cursor").orElse(null);
+        Assertions.assertNotNull(cursor, "First page should carry a cursor to the next page");
+
+        HttpResponse<String> secondPage = httpTestUtil.sendRequest("GET", "/api/food?limit=2&cursor=" + cursor, null);
+
+        Assertions.assertEquals(200, secondPage.statusCode());
+        JsonNode secondPageJson = httpTestUtil.parseResponse(secondPage);
+        Assertions.assertEquals(1, secondPageJson.size());
+        Assertions.assertTrue(secondPage.headers().firstValue("X-Next-Cursor").isEmpty());
+        for (JsonNode food : httpTestUtil.parseResponse(firstPage)) {
+            Assertions.assertNotEquals(food.get("id").asText(), secondPageJson.get(0).get("id").asText());
+        }
+    }
+
+    @Test
+    public void exportFood_NdjsonGzip() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/api/food/export?format=ndjson"))
+                .header("X-API-Key", apiKey)
+                .header("Authorization", "Bearer " + authToken)
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+
+        HttpResponse<byte[]> response = webClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        String body;
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            body = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = body.trim().split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertEquals(userId, objectMapper.readTree(lines[0]).get("userId").asText());
+    }
+
+    @Test
+    public void exportFood_Csv() throws IOException, InterruptedException {
+        HttpResponse<String> response = httpTestUtil.sendRequest("GET", "/api/food/export?format=csv", null);
+
+        Assertions.assertEquals(200, response.statusCode());
+        String[] lines = response.body().trim().split("\n");
+        Assertions.assertEquals(3, lines.length);
+        Assertions.assertEquals("id,date,name,protein,carb,fat,createdAt,updatedAt", lines[0]);
+    }
+
+    @Test
+    public void getDailyTotals_Success() throws IOException, InterruptedException {
+        HttpResponse<String> response = httpTestUtil.sendRequest(
+            "GET",
+            "/api/food/totals?date=" + LocalDate.now().toString(),
+            null
+        );
+
+        Assertions.assertEquals(200, response.statusCode());
+
+        JsonNode jsonResponse = httpTestUtil.parseResponse(response);
+        Assertions.assertEquals(LocalDate.now().toString(), jsonResponse.get("date").asText());
+        Assertions.assertEquals(60.0, jsonResponse.get("protein").asDouble());
+        Assertions.assertEquals(80.0, jsonResponse.get("carb").asDouble());
+        Assertions.assertEquals(40.0, jsonResponse.get("fat").asDouble());
+        Assertions.assertEquals(2, jsonResponse.get("count").asInt());
+    }
+
+    @Test
+    public void getDailyTotals_AfterRebuild() throws IOException, InterruptedException {
+        app.getBean(DailySummaryService.class).rebuild();
+
+        HttpResponse<String> response = httpTestUtil.sendRequest(
+            "GET",
+            "/api/food/totals?date=" + LocalDate.now().toString(),
+            null
+        );
+
+        JsonNode jsonResponse = httpTestUtil.parseResponse(response);
+        Assertions.assertEquals(60.0, jsonResponse.get("protein").asDouble());
+        Assertions.assertEquals(40.0, jsonResponse.get("fat").asDouble());
+        Assertions.assertEquals(2, jsonResponse.get("count").asInt());
+    }
+
     @Test
     public void getAllFood_WithDateFilter() throws IOException, InterruptedException {
         HttpResponse<String> response = httpTestUtil.sendRequest(
@@ -91,6 +186,68 @@ public class GetFoodIntegrationTest extends AbstractIntegrationTest {
         Assertions.assertEquals(2, jsonResponse.size());
     }
 
+    @Test
+    public void getAllFood_WithDateRange() throws IOException, InterruptedException {
+        LocalDate today = LocalDate.now();
+        HttpResponse<String> response = httpTestUtil.sendRequest(
+            "GET",
+            "/api/food?from=" + today.minusDays(6) + "&to=" + today,
+            null
+        );
+
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals(2, httpTestUtil.parseResponse(response).size());
+
+        HttpResponse<String> laterWeek = httpTestUtil.sendRequest(
+            "GET",
+            "/api/food?from=" + today.plusDays(1) + "&to=" + today.plusDays(7),
+            null
+        );
+        Assertions.assertEquals(0, httpTestUtil.parseResponse(laterWeek).size());
+    }
+
+    @Test
+    public void getAllFood_DateRangeTooLong() throws IOException, InterruptedException {
+        LocalDate today = LocalDate.now();
+        HttpResponse<String> response = httpTestUtil.sendRequest(
+            "GET",
+            "/api/food?from=" + today.minusYears(1) + "&to=" + today,
+            null
+        );
+
+        Assertions.assertEquals(400, response.statusCode());
+    }
+
+    @Test
+    public void getAllFood_NotModifiedUntilWrite() throws IOException, InterruptedException {
+        String path = "/api/food?date=" + LocalDate.now();
+        HttpResponse<String> first = httpTestUtil.sendRequest("GET", path, null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> unchanged = sendConditionalGet(path, etag);
+        Assertions.assertEquals(304, unchanged.statusCode());
+        Assertions.assertTrue(unchanged.body().isEmpty());
+        Assertions.assertEquals(etag, unchanged.headers().firstValue("ETag").orElseThrow());
+
+        createTestFood("Test Meal 3");
+
+        HttpResponse<String> changed = sendConditionalGet(path, etag);
+        Assertions.assertEquals(200, changed.statusCode());
+        Assertions.assertEquals(3, httpTestUtil.parseResponse(changed).size());
+        Assertions.assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+    }
+
+    private HttpResponse<String> sendConditionalGet(String path, String etag) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .header("X-API-Key", apiKey)
+                .header("Authorization", "Bearer " + authToken)
+                .header("If-None-Match", etag)
+                .GET()
+                .build();
+        return webClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
     @Test
     public void getFoodById_Success() throws IOException, InterruptedException {
         // Create a food item and get its ID
@@ -0,0 +1,121 @@
+package com.microservice.user_service.IntegrationTests.FoodIntegrationTests;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microservice.user_service.IntegrationTests.AbstractIntegrationTest;
+import com.microservice.user_service.IntegrationTests.HttpTestUtil;
+
+public class PatchFoodIntegrationTest extends AbstractIntegrationTest {
+    private HttpTestUtil httpTestUtil;
+
+    @BeforeEach
+    @Override
+    public void setUp() throws InterruptedException, IOException {
+        super.setUp();
+        httpTestUtil = new HttpTestUtil(webClient, objectMapper, baseUrl, apiKey);
+        String registerJson = """
+                {
+                    "username": "testuser",
+                    "email": "test@example.com",
+                    "password": "Password123!"
+                }""";
+        httpTestUtil.sendRequest("POST", "/api/auth/register", registerJson);
+
+        String loginJson = """
+                {
+                    "email": "test@example.com",
+                    "password": "Password123!"
+                }""";
+        HttpResponse<String> loginResponse = httpTestUtil.sendRequest("POST", "/api/auth/login", loginJson);
+        String authToken = httpTestUtil.parseResponse(loginResponse).get("token").asText();
+        httpTestUtil = new HttpTestUtil(webClient, objectMapper, baseUrl, apiKey, authToken);
+    }
+
+    private JsonNode createTestFood() throws IOException, InterruptedException {
+        ObjectNode foodJson = objectMapper.createObjectNode()
+                .put("name", "Original Meal")
+                .put("protein", 30.0)
+                .put("carb", 40.0)
+                .put("fat", 20.0)
+                .put("date", LocalDate.now().toString());
+
+        return httpTestUtil.parseResponse(httpTestUtil.sendRequest("POST", "/api/food", foodJson.toString()));
+    }
+
+    @Test
+    public void patchFood_Success() throws IOException, InterruptedException {
+        String foodId = createTestFood().get("id").asText();
+
+        HttpResponse<String> response = httpTestUtil.sendRequest("PATCH", "/api/food/" + foodId,
+            "{ \"protein\": 45.0 }");
+
+        Assertions.assertEquals(200, response.statusCode());
+        JsonNode patched = httpTestUtil.parseResponse(response);
+        Assertions.assertEquals(45.0, patched.get("protein").asDouble());
+        Assertions.assertEquals("Original Meal", patched.get("name").asText());
+        Assertions.assertEquals(40.0, patched.get("carb").asDouble());
+
+        JsonNode stored = httpTestUtil.parseResponse(httpTestUtil.sendRequest("GET", "/api/food/" + foodId, null));
+        Assertions.assertEquals(45.0, stored.get("protein").asDouble());
+        Assertions.assertEquals(20.0, stored.get("fat").asDouble());
+
+        JsonNode totals = httpTestUtil.parseResponse(
+            httpTestUtil.sendRequest("GET", "/api/food/totals?date=" + LocalDate.now(), null));
+        Assertions.assertEquals(45.0, totals.get("protein").asDouble());
+        Assertions.assertEquals(1, totals.get("count").asInt());
+    }
+
+    @Test
+    public void patchFood_NoChange() throws IOException, InterruptedException {
+        String foodId = createTestFood().get("id").asText();
+        JsonNode before = httpTestUtil.parseResponse(httpTestUtil.sendRequest("GET", "/api/food/" + foodId, null));
+
+        HttpResponse<String> response = httpTestUtil.sendRequest("PATCH", "/api/food/" + foodId,
+            "{ \"name\": \"Original Meal\", \"fat\": 20.0 }");
+
+        Assertions.assertEquals(200, response.statusCode());
+        JsonNode stored = httpTestUtil.parseResponse(httpTestUtil.sendRequest("GET", "/api/food/" + foodId, null));
+        Assertions.assertEquals(before.get("updatedAt").asText(), stored.get("updatedAt").asText());
+    }
+
+    @Test
+    public void patchFood_IfMatchStale() throws IOException, InterruptedException {
+        String foodId = createTestFood().get("id").asText();
+        String etag = httpTestUtil.sendRequest("GET", "/api/food/" + foodId, null)
+            .headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> first = httpTestUtil.sendRequest("PATCH", "/api/food/" + foodId,
+            "{ \"fat\": 10.0 }", Map.of("If-Match", etag));
+        Assertions.assertEquals(200, first.statusCode());
+
+        HttpResponse<String> stale = httpTestUtil.sendRequest("PATCH", "/api/food/" + foodId,
+            "{ \"fat\": 12.0 }", Map.of("If-Match", etag));
+        Assertions.assertEquals(412, stale.statusCode());
+    }
+
+    @Test
+    public void patchFood_InvalidField() throws IOException, InterruptedException {
+        String foodId = createTestFood().get("id").asText();
+
+        HttpResponse<String> response = httpTestUtil.sendRequest("PATCH", "/api/food/" + foodId,
+            "{ \"carb\": -5.0 }");
+
+        Assertions.assertEquals(400, response.statusCode());
+    }
+
+    @Test
+    public void patchFood_NotFound() throws IOException, InterruptedException {
+        HttpResponse<String> response = httpTestUtil.sendRequest("PATCH", "/api/food/000000000000000000000000",
+            "{ \"carb\": 5.0 }");
+
+        Assertions.assertEquals(404, response.statusCode());
+    }
+}
@@ -3,6 +3,7 @@ package com.microservice.user_service.IntegrationTests.FoodIntegrationTests;
 import java.io.IOException;
 import java.net.http.HttpResponse;
 import java.time.LocalDate;
+import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -101,6 +102,69 @@ public class UpdateFoodIntegrationTest extends AbstractIntegrationTest {
         Assertions.assertEquals(userId, returnedFood.getUserId());
     }
 
+    @Test
+    public void updateFood_MovedToAnotherDay_UpdatesTotals() throws IOException, InterruptedException {
+        String foodId = createTestFood("Original Meal");
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+
+        Food updatedFood = new Food();
+        updatedFood.setName("Moved Meal");
+        updatedFood.setProtein(50.0);
+        updatedFood.setCarb(60.0);
+        updatedFood.setFat(25.0);
+        updatedFood.setDate(yesterday);
+        updatedFood.setUserId(userId);
+
+        HttpResponse<String> response = httpTestUtil.sendRequest("PUT", "/api/food/" + foodId,
+            objectMapper.writeValueAsString(updatedFood));
+        Assertions.assertEquals(200, response.statusCode());
+
+        JsonNode today = httpTestUtil.parseResponse(
+            httpTestUtil.sendRequest("GET", "/api/food/totals?date=" + LocalDate.now(), null));
+        Assertions.assertEquals(0.0, today.get("protein").asDouble());
+        Assertions.assertEquals(0, today.get("count").asInt());
+
+        JsonNode previousDay = httpTestUtil.parseResponse(
+            httpTestUtil.sendRequest("GET", "/api/food/totals?date=" + yesterday, null));
+        Assertions.assertEquals(50.0, previousDay.get("protein").asDouble());
+        Assertions.assertEquals(25.0, previousDay.get("fat").asDouble());
+        Assertions.assertEquals(1, previousDay.get("count").asInt());
+    }
+
+    @Test
+    public void updateFood_IfMatch() throws IOException, InterruptedException {
+        String foodId = createTestFood("Original Meal");
+        HttpResponse<String> getResponse = httpTestUtil.sendRequest("GET", "/api/food/" + foodId, null);
+        String etag = getResponse.headers().firstValue("ETag").orElseThrow();
+
+        Food updatedFood = new Food();
+        updatedFood.setName("Updated Meal");
+        updatedFood.setProtein(50.0);
+        updatedFood.setCarb(60.0);
+        updatedFood.setFat(25.0);
+        updatedFood.setDate(LocalDate.now());
+        String requestBody = objectMapper.writeValueAsString(updatedFood);
+
+        HttpResponse<String> first = httpTestUtil.sendRequest("PUT", "/api/food/" + foodId, requestBody,
+            Map.of("If-Match", etag));
+        Assertions.assertEquals(200, first.statusCode());
+        String newETag = first.headers().firstValue("ETag").orElseThrow();
+        Assertions.assertNotEquals(etag, newETag);
+
+        // A second device still holding the old tag
+        HttpResponse<String> stale = httpTestUtil.sendRequest("PUT", "/api/food/" + foodId, requestBody,
+            Map.of("If-Match", etag));
+        Assertions.assertEquals(412, stale.statusCode());
+
+        HttpResponse<String> staleDelete = httpTestUtil.sendRequest("DELETE", "/api/food/" + foodId, null,
+            Map.of("If-Match", etag));
+        Assertions.assertEquals(412, staleDelete.statusCode());
+
+        HttpResponse<String> delete = httpTestUtil.sendRequest("DELETE", "/api/food/" + foodId, null,
+            Map.of("If-Match", newETag));
+        Assertions.assertEquals(204, delete.statusCode());
+    }
+
     @Test
     public void updateFood_NotFound() throws IOException, InterruptedException {
         Food updatedFood = new Food();
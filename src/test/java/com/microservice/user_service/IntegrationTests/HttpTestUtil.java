@@ -5,6 +5,7 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.util.Map;
 import org.springframework.http.MediaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -29,6 +30,11 @@ public class HttpTestUtil {
     }
 
     public HttpResponse<String> sendRequest(String method, String path, String body) throws IOException, InterruptedException {
+        return sendRequest(method, path, body, Map.of());
+    }
+
+    public HttpResponse<String> sendRequest(String method, String path, String body, Map<String, String> headers)
+            throws IOException, InterruptedException {
         HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
                 .uri(URI.create(baseUrl + path))
                 .header("Content-Type", MediaType.APPLICATION_JSON_VALUE);
@@ -41,6 +47,8 @@ public class HttpTestUtil {
             requestBuilder.header("Authorization", "Bearer " + authToken);
         }
 
+        headers.forEach(requestBuilder::header);
+
         switch (method.toUpperCase()) {
             case "POST":
                 requestBuilder.POST(HttpRequest.BodyPublishers.ofString(body));
@@ -48,6 +56,9 @@ public class HttpTestUtil {
             case "PUT":
                 requestBuilder.PUT(HttpRequest.BodyPublishers.ofString(body));
                 break;
+            case "PATCH":
+                requestBuilder.method("PATCH", HttpRequest.BodyPublishers.ofString(body));
+                break;
             case "DELETE":
                 requestBuilder.DELETE();
                 break;
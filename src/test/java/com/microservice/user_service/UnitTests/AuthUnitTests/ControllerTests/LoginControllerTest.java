@@ -2,20 +2,31 @@ package com.microservice.user_service.UnitTests.AuthUnitTests.ControllerTests;
 
 import com.microservice.user_service.controller.AuthController;
 import com.microservice.user_service.model.User;
+import com.microservice.user_service.model.UserLoggedInEvent;
+import com.microservice.user_service.exception.TooManyRequestsException;
 import com.microservice.user_service.service.AuthService;
+import com.microservice.user_service.service.LoginAttemptService;
+import com.microservice.user_service.service.RefreshTokenService;
+import com.microservice.user_service.util.ClientIpResolver;
 import com.microservice.user_service.util.JwtUtil;
+import com.microservice.user_service.util.PasswordHashingExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -29,12 +40,30 @@ class LoginControllerTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private LoginAttemptService loginAttemptService;
+
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ClientIpResolver clientIpResolver;
+
     @InjectMocks
     private AuthController authController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(clientIpResolver.resolve(any())).thenReturn("127.0.0.1");
+        when(passwordHashingExecutor.submit(any())).thenAnswer(invocation ->
+                CompletableFuture.supplyAsync(invocation.<Supplier<?>>getArgument(0), Runnable::run));
     }
 
     @Test
@@ -45,17 +74,22 @@ class LoginControllerTest {
 
         when(authService.authenticateUser(anyString(), anyString())).thenReturn(authenticatedUser);
         when(jwtUtil.generateToken(anyString())).thenReturn("test.jwt.token");
+        when(refreshTokenService.issue("testId")).thenReturn("refresh-token");
 
-        ResponseEntity<Map<String, String>> response = authController.loginUser(loginRequest);
+        ResponseEntity<Map<String, String>> response =
+                authController.loginUser(loginRequest, new MockHttpServletRequest()).join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         Map<String, String> responseBody = response.getBody();
         assertNotNull(responseBody);
         assertEquals("Login successful", responseBody.get("message"));
         assertEquals("test.jwt.token", responseBody.get("token"));
+        assertEquals("refresh-token", responseBody.get("refreshToken"));
         assertEquals("testId", responseBody.get("userId"));
         verify(authService).authenticateUser(anyString(), anyString());
         verify(jwtUtil).generateToken(anyString());
+        verify(loginAttemptService).recordSuccess("test@example.com");
+        verify(eventPublisher).publishEvent(new UserLoggedInEvent("testId"));
     }
 
     @Test
@@ -65,13 +99,31 @@ class LoginControllerTest {
         when(authService.authenticateUser(anyString(), anyString()))
                 .thenThrow(new RuntimeException("Invalid email or password"));
 
-        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> authController.loginUser(loginRequest));
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> authController.loginUser(loginRequest, new MockHttpServletRequest()).join());
+        ResponseStatusException exception = assertInstanceOf(ResponseStatusException.class, failure.getCause());
 
         assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
         assertEquals("Invalid email or password", exception.getReason());
         verify(authService).authenticateUser(anyString(), anyString());
         verify(jwtUtil, never()).generateToken(anyString());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        verify(loginAttemptService).recordFailure("test@example.com", "127.0.0.1");
+    }
+
+    @Test
+    void loginUser_TooManyFailedAttempts() {
+        Map<String, String> loginRequest = createValidLoginRequest();
+
+        when(loginAttemptService.blockedForMillis("test@example.com", "127.0.0.1")).thenReturn(30_500L);
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> authController.loginUser(loginRequest, new MockHttpServletRequest()));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatusCode());
+        assertEquals("31", exception.getHeaders().getFirst("Retry-After"));
+        verify(authService, never()).authenticateUser(anyString(), anyString());
+        verify(passwordHashingExecutor, never()).submit(any());
     }
 
     @Test
@@ -80,11 +132,27 @@ class LoginControllerTest {
         loginRequest.put("password", "password123");
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> authController.loginUser(loginRequest));
+                () -> authController.loginUser(loginRequest, new MockHttpServletRequest()));
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
         assertEquals("Email is required", exception.getReason());
         verify(authService, never()).authenticateUser(anyString(), anyString());
+        verify(passwordHashingExecutor, never()).submit(any());
+    }
+
+    @Test
+    void loginUser_HashingQueueFull() {
+        Map<String, String> loginRequest = createValidLoginRequest();
+
+        doThrow(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please try again later"))
+                .when(passwordHashingExecutor).submit(any());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> authController.loginUser(loginRequest, new MockHttpServletRequest()));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        verify(authService, never()).authenticateUser(anyString(), anyString());
+        verify(loginAttemptService, never()).recordFailure(anyString(), anyString());
     }
 
     private Map<String, String> createValidLoginRequest() {
@@ -4,6 +4,7 @@ import com.microservice.user_service.controller.AuthController;
 import com.microservice.user_service.model.User;
 import com.microservice.user_service.service.AuthService;
 import com.microservice.user_service.util.JwtUtil;
+import com.microservice.user_service.util.PasswordHashingExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -15,6 +16,9 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,12 +32,17 @@ class RegisterControllerTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+
     @InjectMocks
     private AuthController authController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(passwordHashingExecutor.submit(any())).thenAnswer(invocation ->
+                CompletableFuture.supplyAsync(invocation.<Supplier<?>>getArgument(0), Runnable::run));
     }
 
     @Test
@@ -44,7 +53,7 @@ class RegisterControllerTest {
 
         when(authService.registerUser(any(User.class))).thenReturn(registeredUser);
 
-        ResponseEntity<Map<String, String>> response = authController.registerUser(inputUser);
+        ResponseEntity<Map<String, String>> response = authController.registerUser(inputUser).join();
 
         assertNotNull(response);
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
@@ -61,8 +70,9 @@ class RegisterControllerTest {
         when(authService.registerUser(any(User.class)))
                 .thenThrow(new RuntimeException("Username or email already exists"));
 
-        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> authController.registerUser(inputUser));
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> authController.registerUser(inputUser).join());
+        ResponseStatusException exception = assertInstanceOf(ResponseStatusException.class, failure.getCause());
 
         assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
         assertEquals("Username or email already exists", exception.getReason());
@@ -82,6 +92,19 @@ class RegisterControllerTest {
         verify(authService, never()).registerUser(any(User.class));
     }
 
+    @Test
+    void registerUser_InvalidEmail() {
+        User inputUser = createValidUser();
+        inputUser.setEmail("test@");
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> authController.registerUser(inputUser));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Invalid email format", exception.getReason());
+        verify(authService, never()).registerUser(any(User.class));
+    }
+
     private User createValidUser() {
         User user = new User();
         user.setUsername("testuser");
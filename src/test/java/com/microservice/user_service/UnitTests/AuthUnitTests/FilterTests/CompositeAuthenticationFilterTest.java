@@ -0,0 +1,84 @@
+package com.microservice.user_service.UnitTests.AuthUnitTests.FilterTests;
+
+import com.microservice.user_service.config.filter.ApiKeyAuthFilter;
+import com.microservice.user_service.config.filter.CompositeAuthenticationFilter;
+import com.microservice.user_service.config.filter.JwtAuthenticationFilter;
+import com.microservice.user_service.config.filter.RouteClassifier;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CompositeAuthenticationFilterTest {
+
+    @Mock
+    private ApiKeyAuthFilter apiKeyAuthFilter;
+
+    @Mock
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private CompositeAuthenticationFilter compositeAuthenticationFilter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        compositeAuthenticationFilter = new CompositeAuthenticationFilter(
+                new RouteClassifier(), apiKeyAuthFilter, jwtAuthenticationFilter);
+    }
+
+    @Test
+    void publicRoute_SkipsAllChecks() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        compositeAuthenticationFilter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(apiKeyAuthFilter, jwtAuthenticationFilter);
+    }
+
+    @Test
+    void apiKeyRoute_SkipsJwtCheck() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/logout");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(apiKeyAuthFilter.authenticate(request, response)).thenReturn(true);
+
+        compositeAuthenticationFilter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(jwtAuthenticationFilter);
+    }
+
+    @Test
+    void protectedRoute_RequiresBoth() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/food");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(apiKeyAuthFilter.authenticate(request, response)).thenReturn(true);
+        when(jwtAuthenticationFilter.authenticate(request, response)).thenReturn(true);
+
+        compositeAuthenticationFilter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void protectedRoute_StopsAtFailedApiKey() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/food");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(apiKeyAuthFilter.authenticate(request, response)).thenReturn(false);
+
+        compositeAuthenticationFilter.doFilter(request, response, filterChain);
+
+        verify(filterChain, never()).doFilter(any(), any());
+        verifyNoInteractions(jwtAuthenticationFilter);
+    }
+}
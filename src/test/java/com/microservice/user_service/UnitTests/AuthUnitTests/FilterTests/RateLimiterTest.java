@@ -0,0 +1,67 @@
+package com.microservice.user_service.UnitTests.AuthUnitTests.FilterTests;
+
+import com.microservice.user_service.config.filter.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void tryAcquireForUser_RejectsBeyondBurst() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(true, 6000, 10, "", 60, 3, 600000, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(rateLimiter.tryAcquireForUser("user-1", new MockHttpServletResponse()));
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(rateLimiter.tryAcquireForUser("user-1", response));
+
+        assertEquals(429, response.getStatus());
+        assertNotNull(response.getHeader("Retry-After"));
+        assertTrue(Long.parseLong(response.getHeader("Retry-After")) >= 1);
+        assertEquals(1.0, meterRegistry.counter("ratelimit.requests",
+                "scope", "user", "outcome", "rejected").count());
+    }
+
+    @Test
+    void tryAcquireForUser_KeysAreIndependent() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(true, 6000, 10, "", 60, 1, 600000, meterRegistry);
+
+        assertTrue(rateLimiter.tryAcquireForUser("user-1", new MockHttpServletResponse()));
+        assertFalse(rateLimiter.tryAcquireForUser("user-1", new MockHttpServletResponse()));
+        assertTrue(rateLimiter.tryAcquireForUser("user-2", new MockHttpServletResponse()));
+    }
+
+    @Test
+    void tryAcquireForApiKey_UsesOverride() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(true, 1, 1, "partner-key:60000", 60, 1, 600000, meterRegistry);
+
+        assertTrue(rateLimiter.tryAcquireForApiKey("default-key", new MockHttpServletResponse()));
+        assertFalse(rateLimiter.tryAcquireForApiKey("default-key", new MockHttpServletResponse()));
+
+        // 1000 requests per second with no burst: the second call only passes once a millisecond has elapsed
+        assertTrue(rateLimiter.tryAcquireForApiKey("partner-key", new MockHttpServletResponse()));
+        Thread.sleep(5);
+        assertTrue(rateLimiter.tryAcquireForApiKey("partner-key", new MockHttpServletResponse()));
+    }
+
+    @Test
+    void disabled_AlwaysAdmits() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(false, 1, 1, "", 1, 1, 600000, meterRegistry);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(rateLimiter.tryAcquireForUser("user-1", new MockHttpServletResponse()));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.microservice.user_service.UnitTests.AuthUnitTests.FilterTests;
+
+import com.microservice.user_service.config.filter.AuthPolicy;
+import com.microservice.user_service.config.filter.RouteClassifier;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class RouteClassifierTest {
+
+    private final RouteClassifier routeClassifier = new RouteClassifier();
+
+    @Test
+    void classify_PublicRoutes() {
+        assertEquals(AuthPolicy.PUBLIC, routeClassifier.classify("/api/auth/login"));
+        assertEquals(AuthPolicy.PUBLIC, routeClassifier.classify("/api/auth/register"));
+        assertEquals(AuthPolicy.PUBLIC, routeClassifier.classify("/api/auth/refresh"));
+        assertEquals(AuthPolicy.PUBLIC, routeClassifier.classify("/api/auth/.well-known/jwks.json"));
+        assertEquals(AuthPolicy.PUBLIC, routeClassifier.classify("/swagger-ui/index.html"));
+        assertEquals(AuthPolicy.PUBLIC, routeClassifier.classify("/v3/api-docs/public"));
+    }
+
+    @Test
+    void classify_ApiKeyRoutes() {
+        assertEquals(AuthPolicy.API_KEY, routeClassifier.classify("/api/auth/logout"));
+        assertEquals(AuthPolicy.API_KEY, routeClassifier.classify("/api/auth/"));
+    }
+
+    @Test
+    void classify_EverythingElseNeedsBoth() {
+        assertEquals(AuthPolicy.API_KEY_AND_JWT, routeClassifier.classify("/api/food"));
+        assertEquals(AuthPolicy.API_KEY_AND_JWT, routeClassifier.classify("/api/food/123"));
+        assertEquals(AuthPolicy.API_KEY_AND_JWT, routeClassifier.classify("/api/auth"));
+        assertEquals(AuthPolicy.API_KEY_AND_JWT, routeClassifier.classify("/"));
+        assertEquals(AuthPolicy.API_KEY_AND_JWT, routeClassifier.classify(""));
+    }
+
+    @Test
+    void classify_LongestPrefixWins() {
+        RouteClassifier custom = new RouteClassifier(Map.of(
+                "/a/", AuthPolicy.PUBLIC,
+                "/a/b/", AuthPolicy.API_KEY,
+                "/a/b/c", AuthPolicy.PUBLIC));
+
+        assertEquals(AuthPolicy.PUBLIC, custom.classify("/a/x"));
+        assertEquals(AuthPolicy.API_KEY, custom.classify("/a/b/x"));
+        assertEquals(AuthPolicy.PUBLIC, custom.classify("/a/b/cd"));
+        assertEquals(AuthPolicy.API_KEY_AND_JWT, custom.classify("/b/"));
+    }
+
+    @Test
+    void classify_AllocatesNothing() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        String[] uris = {"/api/auth/login", "/api/auth/logout", "/api/food/123", "/swagger-ui/index.html", "/"};
+        int calls = 100000;
+        for (int i = 0; i < calls; i++) {
+            routeClassifier.classify(uris[i % uris.length]);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        int publicRoutes = 0;
+        for (int i = 0; i < calls; i++) {
+            if (routeClassifier.classify(uris[i % uris.length]) == AuthPolicy.PUBLIC) {
+                publicRoutes++;
+            }
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(calls * 2 / uris.length, publicRoutes);
+        // Allows for the measurement itself; one object per call would be megabytes
+        assertTrue(allocated < 1024, "classification allocated " + allocated + " bytes over " + calls + " calls");
+    }
+}
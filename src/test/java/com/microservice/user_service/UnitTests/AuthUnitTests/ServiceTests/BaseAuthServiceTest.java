@@ -4,7 +4,7 @@ import com.microservice.user_service.model.User;
 import com.microservice.user_service.repository.UserRepository;
 import com.microservice.user_service.service.AuthService;
 import org.mockito.Mock;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import java.time.LocalDateTime;
 
 public abstract class BaseAuthServiceTest {
@@ -15,7 +15,7 @@ public abstract class BaseAuthServiceTest {
     protected UserRepository userRepository;
 
     @Mock
-    protected BCryptPasswordEncoder passwordEncoder;
+    protected PasswordEncoder passwordEncoder;
 
     protected User createTestUser() {
         User user = new User();
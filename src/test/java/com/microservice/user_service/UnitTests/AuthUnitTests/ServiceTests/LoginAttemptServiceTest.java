@@ -0,0 +1,97 @@
+package com.microservice.user_service.UnitTests.AuthUnitTests.ServiceTests;
+
+import com.microservice.user_service.service.LoginAttemptService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptServiceTest {
+
+    private LoginAttemptService loginAttemptService;
+
+    @BeforeEach
+    void setUp() {
+        loginAttemptService = new LoginAttemptService();
+        ReflectionTestUtils.setField(loginAttemptService, "maxFailuresPerEmail", 3);
+        ReflectionTestUtils.setField(loginAttemptService, "maxFailuresPerIp", 5);
+        ReflectionTestUtils.setField(loginAttemptService, "windowMillis", 60000L);
+        ReflectionTestUtils.setField(loginAttemptService, "maxEntries", 100);
+    }
+
+    @Test
+    void blockedForMillis_AfterEmailThreshold() {
+        for (int i = 0; i < 2; i++) {
+            loginAttemptService.recordFailure("test@example.com", "10.0.0.1");
+        }
+        assertEquals(0, loginAttemptService.blockedForMillis("test@example.com", "10.0.0.1"));
+
+        loginAttemptService.recordFailure("TEST@example.com", "10.0.0.1");
+
+        long blockedFor = loginAttemptService.blockedForMillis("test@example.com", "10.0.0.2");
+        // Released as soon as the window rolls over and the failures start to slide out
+        assertTrue(blockedFor > 0 && blockedFor <= 60001);
+        assertEquals(0, loginAttemptService.blockedForMillis("other@example.com", "10.0.0.2"));
+    }
+
+    @Test
+    void blockedForMillis_WaitsForExcessFailuresToSlideOut() {
+        for (int i = 0; i < 6; i++) {
+            loginAttemptService.recordFailure("test@example.com", "10.0.0." + i);
+        }
+
+        // Twice the limit: half of the previous window must slide out after the rollover
+        long blockedFor = loginAttemptService.blockedForMillis("test@example.com", "10.0.0.9");
+        assertTrue(blockedFor > 60000 && blockedFor <= 90001, "blocked for " + blockedFor);
+    }
+
+    @Test
+    void blockedForMillis_AfterIpThreshold() {
+        for (int i = 0; i < 5; i++) {
+            loginAttemptService.recordFailure("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertTrue(loginAttemptService.blockedForMillis("new@example.com", "10.0.0.1") > 0);
+        assertEquals(0, loginAttemptService.blockedForMillis("new@example.com", "10.0.0.2"));
+    }
+
+    @Test
+    void recordSuccess_ResetsEmail() {
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.recordFailure("test@example.com", "10.0.0." + i);
+        }
+        assertTrue(loginAttemptService.blockedForMillis("test@example.com", "10.0.0.9") > 0);
+
+        loginAttemptService.recordSuccess("test@example.com");
+
+        assertEquals(0, loginAttemptService.blockedForMillis("test@example.com", "10.0.0.9"));
+    }
+
+    @Test
+    void blockedForMillis_ReleasesAfterWindow() throws InterruptedException {
+        ReflectionTestUtils.setField(loginAttemptService, "windowMillis", 50L);
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.recordFailure("test@example.com", "10.0.0.1");
+        }
+        assertTrue(loginAttemptService.blockedForMillis("test@example.com", "10.0.0.1") > 0);
+
+        Thread.sleep(110);
+
+        assertEquals(0, loginAttemptService.blockedForMillis("test@example.com", "10.0.0.1"));
+    }
+
+    @Test
+    void recordFailure_StopsTrackingWhenFull() {
+        ReflectionTestUtils.setField(loginAttemptService, "maxEntries", 4);
+        for (int i = 0; i < 10; i++) {
+            loginAttemptService.recordFailure("user" + i + "@example.com", "10.0.0." + i);
+        }
+
+        assertEquals(0, loginAttemptService.blockedForMillis("user9@example.com", "10.0.0.9"));
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.recordFailure("user0@example.com", "10.0.0.0");
+        }
+        assertTrue(loginAttemptService.blockedForMillis("user0@example.com", "10.0.0.0") > 0);
+    }
+}
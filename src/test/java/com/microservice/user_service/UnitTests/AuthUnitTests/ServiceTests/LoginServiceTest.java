@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +37,39 @@ class LoginServiceTest extends BaseAuthServiceTest {
         verify(passwordEncoder).matches("password", "encodedPassword");
     }
 
+    @Test
+    void authenticateUser_RehashesOutdatedPassword() {
+        User user = createTestUser();
+        user.setId("testId");
+        user.setPassword("oldHash");
+
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password", "oldHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("oldHash")).thenReturn(true);
+        when(passwordEncoder.encode("password")).thenReturn("{bcrypt}newHash");
+
+        User result = authService.authenticateUser(user.getEmail(), "password");
+
+        assertEquals("{bcrypt}newHash", result.getPassword());
+        verify(userRepository).updatePassword(eq("testId"), eq("{bcrypt}newHash"), any(LocalDateTime.class));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void authenticateUser_KeepsCurrentPassword() {
+        User user = createTestUser();
+        user.setPassword("{bcrypt}currentHash");
+
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password", "{bcrypt}currentHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("{bcrypt}currentHash")).thenReturn(false);
+
+        authService.authenticateUser(user.getEmail(), "password");
+
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).updatePassword(anyString(), anyString(), any(LocalDateTime.class));
+    }
+
     @Test
     void authenticateUser_InvalidPassword() {
         User user = createTestUser();
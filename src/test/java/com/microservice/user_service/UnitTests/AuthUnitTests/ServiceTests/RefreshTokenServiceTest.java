@@ -0,0 +1,121 @@
+package com.microservice.user_service.UnitTests.AuthUnitTests.ServiceTests;
+
+import com.microservice.user_service.model.RefreshToken;
+import com.microservice.user_service.repository.RefreshTokenRepository;
+import com.microservice.user_service.service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository);
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpiration", 60000L);
+    }
+
+    @Test
+    void issue_StoresOnlyTheHash() {
+        String rawToken = refreshTokenService.issue("user-1");
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).insert(captor.capture());
+        RefreshToken stored = captor.getValue();
+
+        assertNotNull(rawToken);
+        assertNotEquals(rawToken, stored.getTokenHash());
+        assertEquals(64, stored.getTokenHash().length());
+        assertEquals("user-1", stored.getUserId());
+        assertNotNull(stored.getFamilyId());
+        assertTrue(stored.getExpiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void rotate_Success() {
+        String rawToken = refreshTokenService.issue("user-1");
+        RefreshToken stored = captureInserted();
+
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(stored.getTokenHash()), any(Instant.class))).thenReturn(1L);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(rawToken);
+
+        assertEquals("user-1", rotation.userId());
+        assertNotEquals(rawToken, rotation.refreshToken());
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository, times(2)).insert(captor.capture());
+        assertEquals(stored.getFamilyId(), captor.getAllValues().get(1).getFamilyId());
+    }
+
+    @Test
+    void rotate_UnknownToken() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> refreshTokenService.rotate("unknown"));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
+        verify(refreshTokenRepository, never()).insert(any(RefreshToken.class));
+    }
+
+    @Test
+    void rotate_ExpiredToken() {
+        String rawToken = refreshTokenService.issue("user-1");
+        RefreshToken stored = captureInserted();
+        stored.setExpiresAt(Instant.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+        assertThrows(ResponseStatusException.class, () -> refreshTokenService.rotate(rawToken));
+        verify(refreshTokenRepository, never()).markUsed(anyString(), any(Instant.class));
+    }
+
+    @Test
+    void rotate_ReusedTokenRevokesFamily() {
+        String rawToken = refreshTokenService.issue("user-1");
+        RefreshToken stored = captureInserted();
+        stored.setUsedAt(Instant.now());
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> refreshTokenService.rotate(rawToken));
+
+        assertEquals("Invalid refresh token", exception.getReason());
+        verify(refreshTokenRepository).deleteByFamilyId(stored.getFamilyId());
+    }
+
+    @Test
+    void rotate_ConcurrentReuseRevokesFamily() {
+        String rawToken = refreshTokenService.issue("user-1");
+        RefreshToken stored = captureInserted();
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(stored.getTokenHash()), any(Instant.class))).thenReturn(0L);
+
+        assertThrows(ResponseStatusException.class, () -> refreshTokenService.rotate(rawToken));
+        verify(refreshTokenRepository).deleteByFamilyId(stored.getFamilyId());
+    }
+
+    private RefreshToken captureInserted() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).insert(captor.capture());
+        return captor.getValue();
+    }
+}
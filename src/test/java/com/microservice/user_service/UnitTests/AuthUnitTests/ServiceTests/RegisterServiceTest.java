@@ -6,8 +6,7 @@ import com.microservice.user_service.service.AuthService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
-
-import java.util.Optional;
+import org.springframework.dao.DuplicateKeyException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,10 +26,8 @@ class RegisterServiceTest extends BaseAuthServiceTest {
         String rawPassword = "password";
         String encodedPassword = "encodedPassword";
     
-        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.empty());
-        when(userRepository.findByUsername(user.getUsername())).thenReturn(Optional.empty());
         when(passwordEncoder.encode(rawPassword)).thenReturn(encodedPassword);
-        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+        when(userRepository.insert(any(User.class))).thenAnswer(i -> i.getArgument(0));
     
         User result = authService.registerUser(user);
     
@@ -41,37 +38,24 @@ class RegisterServiceTest extends BaseAuthServiceTest {
         assertNotNull(result.getCreatedAt());
         assertNotNull(result.getUpdatedAt());
     
-        verify(userRepository).findByEmail(user.getEmail());
-        verify(userRepository).findByUsername(user.getUsername());
         verify(passwordEncoder).encode(rawPassword);
-        verify(userRepository).save(any(User.class));
-    }
-
-    @Test
-    void registerUser_DuplicateEmail() {
-        User user = createTestUser();
-        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(new User()));
-
-        RuntimeException exception = assertThrows(RuntimeException.class, 
-            () -> authService.registerUser(user));
-
-        assertEquals("Username or email already exists", exception.getMessage());
-        verify(userRepository).findByEmail(user.getEmail());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository).insert(any(User.class));
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(userRepository, never()).findByUsername(anyString());
     }
 
     @Test
-    void registerUser_DuplicateUsername() {
+    void registerUser_DuplicateEmailOrUsername() {
         User user = createTestUser();
-        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.empty());
-        when(userRepository.findByUsername(user.getUsername())).thenReturn(Optional.of(new User()));
+        when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
+        when(userRepository.insert(any(User.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error collection: Users index: email"));
 
         RuntimeException exception = assertThrows(RuntimeException.class, 
             () -> authService.registerUser(user));
 
         assertEquals("Username or email already exists", exception.getMessage());
-        verify(userRepository).findByEmail(user.getEmail());
-        verify(userRepository).findByUsername(user.getUsername());
+        verify(userRepository).insert(any(User.class));
         verify(userRepository, never()).save(any(User.class));
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.microservice.user_service.UnitTests.AuthUnitTests.ServiceTests;
+
+import com.microservice.user_service.model.RevokedToken;
+import com.microservice.user_service.repository.RevokedTokenRepository;
+import com.microservice.user_service.service.TokenRevocationService;
+import com.microservice.user_service.util.JwtPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository);
+        ReflectionTestUtils.setField(tokenRevocationService, "expectedEntries", 1000L);
+        ReflectionTestUtils.setField(tokenRevocationService, "falsePositiveRate", 0.01);
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class))).thenReturn(List.of());
+    }
+
+    @Test
+    void revoke_IsVisibleImmediately() {
+        JwtPrincipal principal = new JwtPrincipal("user-1", "jti-1", System.currentTimeMillis() + 60000);
+
+        assertFalse(tokenRevocationService.isRevoked("jti-1"));
+        tokenRevocationService.revoke(principal);
+
+        assertTrue(tokenRevocationService.isRevoked("jti-1"));
+        assertFalse(tokenRevocationService.isRevoked("jti-2"));
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void revoke_DuringRebuildIsKept() {
+        assertFalse(tokenRevocationService.isRevoked("jti-1"));
+        JwtPrincipal principal = new JwtPrincipal("user-1", "jti-1", System.currentTimeMillis() + 60000);
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class))).thenAnswer(invocation -> {
+            // A logout handled by another request while the reload is running
+            Thread logout = new Thread(() -> tokenRevocationService.revoke(principal));
+            logout.start();
+            logout.join();
+            return List.of();
+        });
+
+        tokenRevocationService.rebuild();
+
+        assertTrue(tokenRevocationService.isRevoked("jti-1"));
+    }
+
+    @Test
+    void rebuild_LoadsPersistedRevocations() {
+        RevokedToken persisted = new RevokedToken("jti-remote", "user-2",
+                Instant.now().plusSeconds(60), Instant.now());
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class))).thenReturn(List.of(persisted));
+
+        tokenRevocationService.rebuild();
+
+        assertTrue(tokenRevocationService.isRevoked("jti-remote"));
+    }
+
+    @Test
+    void rebuild_KeepsLocalRevocationsAndDropsExpired() {
+        tokenRevocationService.revoke(new JwtPrincipal("user-1", "jti-live", System.currentTimeMillis() + 60000));
+        tokenRevocationService.revoke(new JwtPrincipal("user-1", "jti-expired", System.currentTimeMillis() - 1));
+
+        tokenRevocationService.rebuild();
+
+        assertTrue(tokenRevocationService.isRevoked("jti-live"));
+        assertFalse(tokenRevocationService.isRevoked("jti-expired"));
+    }
+
+    @Test
+    void isRevoked_TokensWithoutIdAreNeverRevoked() {
+        tokenRevocationService.revoke(new JwtPrincipal("user-1", null, System.currentTimeMillis() + 60000));
+
+        assertFalse(tokenRevocationService.isRevoked(null));
+        verify(revokedTokenRepository, never()).save(any(RevokedToken.class));
+    }
+}
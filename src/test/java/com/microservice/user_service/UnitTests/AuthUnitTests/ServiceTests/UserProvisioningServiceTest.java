@@ -0,0 +1,157 @@
+package com.microservice.user_service.UnitTests.AuthUnitTests.ServiceTests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.user_service.model.User;
+import com.microservice.user_service.service.UserProvisioningService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class UserProvisioningServiceTest extends BaseAuthServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private UserProvisioningService userProvisioningService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userProvisioningService = new UserProvisioningService(userRepository, passwordEncoder, objectMapper, 2, 2, 3);
+        when(passwordEncoder.encode(anyString())).thenAnswer(i -> "hashed-" + i.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userProvisioningService.shutdown();
+    }
+
+    @Test
+    void provision_InsertsInBatchesAndReportsEachRow() throws IOException {
+        when(userRepository.insertUnordered(anyList())).thenReturn(Map.of(), Map.of(0, 11000));
+        String input = """
+                {"username": "a", "email": "a@example.com", "password": "pw-a"}
+                {"username": "b", "email": "b@example.com", "password": "pw-b"}
+
+                {"username": "c", "email": "a@example.com", "password": "pw-c"}
+                """;
+
+        List<JsonNode> lines = provision(input);
+
+        assertEquals(4, lines.size());
+        assertEquals(1, lines.get(0).get("line").asInt());
+        assertEquals("CREATED", lines.get(0).get("status").asText());
+        assertTrue(lines.get(0).hasNonNull("userId"));
+        assertEquals("CREATED", lines.get(1).get("status").asText());
+        assertEquals(4, lines.get(2).get("line").asInt());
+        assertEquals("DUPLICATE", lines.get(2).get("status").asText());
+        assertEquals(2, lines.get(3).get("created").asInt());
+        assertEquals(1, lines.get(3).get("duplicates").asInt());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> batches = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, times(2)).insertUnordered(batches.capture());
+        User first = batches.getAllValues().get(0).get(0);
+        assertEquals("hashed-pw-a", first.getPassword());
+        assertNotNull(first.getCreatedAt());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void provision_ReportsInvalidRowsWithoutInserting() throws IOException {
+        String input = """
+                {"username": "a", "password": "pw-a"}
+                not json
+                """;
+
+        List<JsonNode> lines = provision(input);
+
+        assertEquals(3, lines.size());
+        assertEquals("INVALID", lines.get(0).get("status").asText());
+        assertEquals("Email is required", lines.get(0).get("error").asText());
+        assertEquals("Malformed JSON", lines.get(1).get("error").asText());
+        assertEquals(2, lines.get(2).get("invalid").asInt());
+        verify(userRepository, never()).insertUnordered(anyList());
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+
+    @Test
+    void provision_RejectsInvalidEmailLikeRegistration() throws IOException {
+        String input = """
+                {"username": "a", "email": "not-an-email", "password": "pw-a"}
+                """;
+
+        List<JsonNode> lines = provision(input);
+
+        assertEquals("INVALID", lines.get(0).get("status").asText());
+        assertEquals("Invalid email format", lines.get(0).get("error").asText());
+        verify(userRepository, never()).insertUnordered(anyList());
+    }
+
+    @Test
+    void provision_StopsReadingPastMaxRows() throws IOException {
+        when(userRepository.insertUnordered(anyList())).thenReturn(Map.of());
+        String input = """
+                {"username": "a", "email": "a@example.com", "password": "pw-a"}
+                {"username": "b", "email": "b@example.com", "password": "pw-b"}
+                {"username": "c", "email": "c@example.com", "password": "pw-c"}
+                {"username": "d", "email": "d@example.com", "password": "pw-d"}
+                {"username": "e", "email": "e@example.com", "password": "pw-e"}
+                """;
+
+        List<JsonNode> lines = provision(input);
+
+        assertEquals(5, lines.size());
+        assertEquals(4, lines.get(2).get("line").asInt());
+        assertEquals("Request cannot exceed 3 rows", lines.get(2).get("error").asText());
+        assertEquals(3, lines.get(4).get("created").asInt());
+        assertTrue(lines.get(4).get("truncated").asBoolean());
+        verify(passwordEncoder, times(3)).encode(anyString());
+    }
+
+    @Test
+    void provision_HashesOnItsOwnPool() throws IOException {
+        when(userRepository.insertUnordered(anyList())).thenReturn(Map.of());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(passwordEncoder.encode(anyString())).thenAnswer(i -> {
+            threads.add(Thread.currentThread().getName());
+            return "hashed";
+        });
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 3; i++) {
+            input.append("{\"username\": \"u").append(i).append("\", \"email\": \"u").append(i)
+                    .append("@example.com\", \"password\": \"pw\"}\n");
+        }
+
+        provision(input.toString());
+
+        assertFalse(threads.isEmpty());
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("provisioning-hashing-")), threads::toString);
+    }
+
+    private List<JsonNode> provision(String input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        userProvisioningService.provision(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,21 @@
+package com.microservice.user_service.UnitTests.AuthUnitTests.UtilTests;
+
+import com.microservice.user_service.util.BcryptCostCalibrator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BcryptCostCalibratorTest {
+
+    @Test
+    void calibrate_StaysWithinBounds() {
+        int strength = BcryptCostCalibrator.calibrate(50, 4, 8);
+
+        assertTrue(strength >= 4 && strength <= 8);
+    }
+
+    @Test
+    void calibrate_NeverGoesBelowMinimum() {
+        assertEquals(6, BcryptCostCalibrator.calibrate(0, 6, 12));
+    }
+}
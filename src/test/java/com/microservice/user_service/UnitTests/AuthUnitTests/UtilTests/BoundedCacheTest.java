@@ -0,0 +1,161 @@
+package com.microservice.user_service.UnitTests.AuthUnitTests.UtilTests;
+
+import com.microservice.user_service.util.BoundedCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong nanoTime;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        nanoTime = new AtomicLong();
+    }
+
+    @Test
+    void get_ReturnsCachedValueAndCountsRequests() {
+        BoundedCache<String, String> cache = newCache(10, 60000);
+
+        assertNull(cache.get("key"));
+        cache.put("key", "value", cache.stamp("key"));
+
+        assertEquals("value", cache.get("key"));
+        assertEquals(1.0, meterRegistry.counter("cache.gets", "cache", "test", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("cache.gets", "cache", "test", "result", "miss").count());
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").tag("cache", "test").gauge().value());
+    }
+
+    @Test
+    void get_ExpiredEntryIsNotServed() {
+        BoundedCache<String, String> cache = newCache(10, 1000);
+        cache.put("key", "value", cache.stamp("key"));
+
+        nanoTime.addAndGet(1_000_000_000L);
+
+        assertNull(cache.get("key"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_AfterInvalidationIsDropped() {
+        BoundedCache<String, String> cache = newCache(10, 60000);
+        long stamp = cache.stamp("key");
+
+        // A write lands while the value is being loaded
+        cache.invalidate("key");
+        cache.put("key", "stale", stamp);
+
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    void put_InvalidationInOtherSegmentIsKept() {
+        BoundedCache<String, String> cache = newCache(4096, 60000);
+        cache.invalidate("key");
+        // Find a key whose segment has not seen that invalidation
+        int i = 0;
+        while (cache.stamp("other-" + i) != 0) {
+            i++;
+        }
+        long stamp = cache.stamp("key");
+
+        cache.invalidate("other-" + i);
+        cache.put("key", "value", stamp);
+
+        assertEquals("value", cache.get("key"));
+    }
+
+    @Test
+    void put_StaysWithinMaxSize() {
+        BoundedCache<String, String> cache = newCache(100, 60000);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key-" + i, "value", cache.stamp("key-" + i));
+        }
+
+        assertTrue(cache.size() <= 100);
+    }
+
+    @Test
+    void put_ConcurrentWritersStayWithinMaxSize() throws InterruptedException {
+        BoundedCache<String, String> cache = newCache(4096, 60000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    String key = "key-" + thread + "-" + i;
+                    cache.put(key, "value", cache.stamp(key));
+                    cache.get(key);
+                    if (i % 100 == 0) {
+                        cache.invalidate(key);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertTrue(cache.size() <= 4096);
+        cache.put("key", "value", cache.stamp("key"));
+        assertEquals("value", cache.get("key"));
+    }
+
+    @Test
+    void invalidateAll_DropsLoadsStartedBefore() {
+        BoundedCache<String, String> cache = newCache(4096, 60000);
+        cache.put("cached", "value", cache.stamp("cached"));
+        long stamp = cache.stamp("key");
+
+        cache.invalidateAll();
+        cache.put("key", "stale", stamp);
+
+        assertNull(cache.get("cached"));
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    void put_FrequentKeysSurviveScan() {
+        BoundedCache<String, String> cache = newCache(100, 60000);
+        for (int i = 0; i < 50; i++) {
+            cache.put("hot-" + i, "value", cache.stamp("hot-" + i));
+        }
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get("hot-" + i);
+            }
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put("cold-" + i, "value", cache.stamp("cold-" + i));
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals("value", cache.get("hot-" + i));
+        }
+    }
+
+    @Test
+    void disabled_NeverCaches() {
+        BoundedCache<String, String> cache = newCache(0, 60000);
+        cache.put("key", "value", cache.stamp("key"));
+
+        assertFalse(cache.isEnabled());
+        assertNull(cache.get("key"));
+    }
+
+    private BoundedCache<String, String> newCache(int maxSize, long ttlMillis) {
+        return new BoundedCache<>("test", maxSize, ttlMillis, meterRegistry, nanoTime::get);
+    }
+}
@@ -0,0 +1,51 @@
+package com.microservice.user_service.UnitTests.AuthUnitTests.UtilTests;
+
+import com.microservice.user_service.util.ClientIpResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientIpResolverTest {
+
+    private final ClientIpResolver resolver = new ClientIpResolver("10.0.0.0/8,::1/128");
+
+    @Test
+    void resolve_DirectClient() {
+        assertEquals("203.0.113.7", resolver.resolve(request("203.0.113.7", null)));
+    }
+
+    @Test
+    void resolve_ForwardedByTrustedProxy() {
+        assertEquals("203.0.113.7", resolver.resolve(request("10.0.0.5", "203.0.113.7")));
+        assertEquals("203.0.113.7", resolver.resolve(request("10.0.0.5", "203.0.113.7, 10.1.2.3")));
+        assertEquals("203.0.113.7", resolver.resolve(request("::1", "203.0.113.7")));
+        assertEquals("2001:db8::7", resolver.resolve(request("::1", "2001:db8::7")));
+        assertEquals("203.0.113.7", resolver.resolve(request("::ffff:10.0.0.5", "203.0.113.7")));
+    }
+
+    @Test
+    void resolve_SpoofedHeaderIsIgnored() {
+        // Sent straight to the service, so the header is the client's own
+        assertEquals("203.0.113.7", resolver.resolve(request("203.0.113.7", "198.51.100.1")));
+        // Prepended by the client; the balancer appended the real address
+        assertEquals("203.0.113.7", resolver.resolve(request("10.0.0.5", "198.51.100.1, 203.0.113.7")));
+    }
+
+    @Test
+    void resolve_GarbageHopStopsTheWalk() {
+        assertEquals("10.0.0.5", resolver.resolve(request("10.0.0.5", "evil.example.com")));
+        // Contains ':' but is a host name, which must not reach the resolver
+        assertEquals("10.0.0.5", resolver.resolve(request("10.0.0.5", "zz:attacker.example")));
+        assertEquals("203.0.113.7", resolver.resolve(request("10.0.0.5", "unknown, 203.0.113.7")));
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,158 @@
+package com.microservice.user_service.UnitTests.AuthUnitTests.UtilTests;
+
+import com.microservice.user_service.util.Hs256TokenVerifier;
+import com.microservice.user_service.util.JwtPrincipal;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class Hs256TokenVerifierTest {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    private final Hs256TokenVerifier verifier = new Hs256TokenVerifier(SECRET);
+
+    @Test
+    void verify_ValidToken() throws Exception {
+        long expiresAt = System.currentTimeMillis() + 60000;
+        String token = sign(new JWSHeader(JWSAlgorithm.HS256), "user-1", expiresAt, SECRET);
+
+        assertTrue(verifier.supports(token));
+        JwtPrincipal principal = verifier.verify(token, System.currentTimeMillis());
+
+        assertNotNull(principal);
+        assertEquals("user-1", principal.userId());
+        assertEquals(expiresAt / 1000 * 1000, principal.expiresAt());
+    }
+
+    @Test
+    void verify_TypedHeaderIsSupported() throws Exception {
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.HS256).type(JOSEObjectType.JWT).build();
+        String token = sign(header, "user-1", System.currentTimeMillis() + 60000, SECRET);
+
+        assertTrue(verifier.supports(token));
+        assertNotNull(verifier.verify(token, System.currentTimeMillis()));
+    }
+
+    @Test
+    void verify_FractionalExpiry() throws Exception {
+        long expiresAtSeconds = System.currentTimeMillis() / 1000 + 60;
+        JWSObject jws = new JWSObject(new JWSHeader(JWSAlgorithm.HS256),
+                new Payload("{\"sub\":\"user-1\",\"exp\":" + expiresAtSeconds + ".5}"));
+        jws.sign(new MACSigner(SECRET));
+
+        JwtPrincipal principal = verifier.verify(jws.serialize(), System.currentTimeMillis());
+
+        assertNotNull(principal);
+        assertEquals(expiresAtSeconds * 1000, principal.expiresAt());
+    }
+
+    @Test
+    void verify_AllocatesFarLessThanNimbus() throws Exception {
+        com.sun.management.ThreadMXBean threads = threadMXBean();
+        String token = sign(new JWSHeader(JWSAlgorithm.HS256), "user-1", System.currentTimeMillis() + 60000, SECRET);
+        MACVerifier nimbusVerifier = new MACVerifier(SECRET);
+        long now = System.currentTimeMillis();
+
+        long fastPath = bytesPerCall(threads, () -> verifier.verify(token, now));
+        long nimbus = bytesPerCall(threads, () -> {
+            SignedJWT jwt = SignedJWT.parse(token);
+            jwt.verify(nimbusVerifier);
+            jwt.getJWTClaimsSet().getSubject();
+        });
+
+        // The principal, its strings and the streaming parser; no decoded copies of the token
+        assertTrue(fastPath < 2048, "fast path allocated " + fastPath + " bytes per verification");
+        assertTrue(fastPath * 4 < nimbus, "fast path " + fastPath + " vs Nimbus " + nimbus + " bytes per verification");
+    }
+
+    @Test
+    void verify_WrongSecret() throws Exception {
+        byte[] otherSecret = "fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8);
+        String token = sign(new JWSHeader(JWSAlgorithm.HS256), "user-1", System.currentTimeMillis() + 60000, otherSecret);
+
+        assertNull(verifier.verify(token, System.currentTimeMillis()));
+    }
+
+    @Test
+    void verify_TamperedPayload() throws Exception {
+        String token = sign(new JWSHeader(JWSAlgorithm.HS256), "user-1", System.currentTimeMillis() + 60000, SECRET);
+        String forged = sign(new JWSHeader(JWSAlgorithm.HS256), "user-2", System.currentTimeMillis() + 60000, SECRET);
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + forged.split("\\.")[1] + "." + parts[2];
+
+        assertNull(verifier.verify(tampered, System.currentTimeMillis()));
+    }
+
+    @Test
+    void verify_ExpiredToken() throws Exception {
+        String token = sign(new JWSHeader(JWSAlgorithm.HS256), "user-1", System.currentTimeMillis() - 60000, SECRET);
+
+        assertNull(verifier.verify(token, System.currentTimeMillis()));
+    }
+
+    @Test
+    void verify_MalformedToken() {
+        assertNull(verifier.verify("eyJhbGciOiJIUzI1NiJ9.not-base64!.sig", System.currentTimeMillis()));
+        assertNull(verifier.verify("eyJhbGciOiJIUzI1NiJ9.abc", System.currentTimeMillis()));
+    }
+
+    @Test
+    void supports_OtherAlgorithmsFallBack() throws Exception {
+        byte[] longSecret = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef"
+                .getBytes(StandardCharsets.UTF_8);
+        String token = sign(new JWSHeader(JWSAlgorithm.HS512), "user-1", System.currentTimeMillis() + 60000, longSecret);
+
+        assertFalse(verifier.supports(token));
+        assertFalse(verifier.supports("not-a-token"));
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        return threads;
+    }
+
+    private static long bytesPerCall(com.sun.management.ThreadMXBean threads, Verification verification) throws Exception {
+        int calls = 20000;
+        for (int i = 0; i < calls; i++) {
+            verification.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < calls; i++) {
+            verification.run();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / calls;
+    }
+
+    private interface Verification {
+        void run() throws Exception;
+    }
+
+    private static String sign(JWSHeader header, String subject, long expiresAt, byte[] secret) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(subject)
+                .issueTime(new Date())
+                .expirationTime(new Date(expiresAt))
+                .build();
+        SignedJWT signedJWT = new SignedJWT(header, claims);
+        signedJWT.sign(new MACSigner(secret));
+        return signedJWT.serialize();
+    }
+}
@@ -0,0 +1,149 @@
+package com.microservice.user_service.UnitTests.AuthUnitTests.UtilTests;
+
+import com.microservice.user_service.util.JwtKeyRing;
+import com.microservice.user_service.util.JwtPrincipal;
+import com.microservice.user_service.util.JwtUtil;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    private JwtKeyRing keyRing;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        keyRing = new JwtKeyRing();
+        ReflectionTestUtils.setField(keyRing, "signingMode", "es256");
+        ReflectionTestUtils.setField(keyRing, "jwksFile", "");
+        ReflectionTestUtils.setField(keyRing, "generateKeys", true);
+        ReflectionTestUtils.setField(keyRing, "activeKid", "");
+        ReflectionTestUtils.setField(keyRing, "rotationInterval", 86400000L);
+        ReflectionTestUtils.setField(keyRing, "retainedKeys", 1);
+        ReflectionTestUtils.invokeMethod(keyRing, "init");
+
+        jwtUtil = new JwtUtil(keyRing);
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", "0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(jwtUtil, "expirationTime", 60000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+    }
+
+    @Test
+    void generateToken_SignsWithActiveKey() throws Exception {
+        String token = jwtUtil.generateToken("user-1");
+
+        SignedJWT signedJWT = SignedJWT.parse(token);
+        assertEquals(JWSAlgorithm.ES256, signedJWT.getHeader().getAlgorithm());
+        assertEquals(keyRing.getActiveKeyId(), signedJWT.getHeader().getKeyID());
+
+        JwtPrincipal principal = jwtUtil.verifyToken(token);
+        assertNotNull(principal);
+        assertEquals("user-1", principal.userId());
+    }
+
+    @Test
+    void rotate_KeepsRetainedKeysVerifiable() {
+        String token = jwtUtil.generateToken("user-1");
+        String firstKid = keyRing.getActiveKeyId();
+
+        keyRing.rotate();
+        assertNotEquals(firstKid, keyRing.getActiveKeyId());
+        assertNotNull(jwtUtil.verifyToken(token));
+
+        keyRing.rotate();
+        assertNull(keyRing.getVerifier(firstKid));
+        assertNull(jwtUtil.verifyToken(token));
+    }
+
+    @Test
+    void getPublicJwks_ExposesOnlyPublicKeys() throws Exception {
+        keyRing.rotate();
+
+        JWKSet jwks = JWKSet.parse(keyRing.getPublicJwks());
+
+        assertEquals(2, jwks.getKeys().size());
+        assertNotNull(jwks.getKeyByKeyId(keyRing.getActiveKeyId()));
+        assertTrue(jwks.getKeys().stream().noneMatch(key -> key.isPrivate()));
+    }
+
+    @Test
+    void verifyToken_RejectsUnknownKeyId() throws Exception {
+        JwtKeyRing otherRing = new JwtKeyRing();
+        ReflectionTestUtils.setField(otherRing, "signingMode", "es256");
+        ReflectionTestUtils.setField(otherRing, "jwksFile", "");
+        ReflectionTestUtils.setField(otherRing, "generateKeys", true);
+        ReflectionTestUtils.setField(otherRing, "retainedKeys", 1);
+        ReflectionTestUtils.invokeMethod(otherRing, "init");
+        JwtUtil otherJwtUtil = new JwtUtil(otherRing);
+        ReflectionTestUtils.setField(otherJwtUtil, "secretKey", "0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(otherJwtUtil, "expirationTime", 60000L);
+        ReflectionTestUtils.invokeMethod(otherJwtUtil, "init");
+
+        assertNull(jwtUtil.verifyToken(otherJwtUtil.generateToken("user-1")));
+    }
+
+    @Test
+    void init_WithoutKeyFileFailsFast() {
+        JwtKeyRing unconfigured = new JwtKeyRing();
+        ReflectionTestUtils.setField(unconfigured, "signingMode", "es256");
+        ReflectionTestUtils.setField(unconfigured, "jwksFile", "");
+        ReflectionTestUtils.setField(unconfigured, "generateKeys", false);
+
+        assertThrows(IllegalStateException.class, () -> ReflectionTestUtils.invokeMethod(unconfigured, "init"));
+    }
+
+    @Test
+    void init_InstancesSharingKeyFileVerifyEachOther(@TempDir Path dir) throws Exception {
+        ECKey key = new ECKeyGenerator(Curve.P_256).keyID("shared").generate();
+        Path file = dir.resolve("jwks.json");
+        Files.writeString(file, new JWKSet(key).toString(false));
+
+        JwtUtil first = newFileBackedJwtUtil(file);
+        JwtUtil second = newFileBackedJwtUtil(file);
+
+        assertNotNull(second.verifyToken(first.generateToken("user-1")));
+    }
+
+    @Test
+    void verifyToken_RejectsSecretSignedTokens() throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("user-1")
+                .expirationTime(new Date(System.currentTimeMillis() + 60000))
+                .build();
+        SignedJWT signedJWT = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        signedJWT.sign(new MACSigner("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8)));
+
+        assertNull(jwtUtil.verifyToken(signedJWT.serialize()));
+    }
+
+    private static JwtUtil newFileBackedJwtUtil(Path file) {
+        JwtKeyRing ring = new JwtKeyRing();
+        ReflectionTestUtils.setField(ring, "signingMode", "es256");
+        ReflectionTestUtils.setField(ring, "jwksFile", file.toString());
+        ReflectionTestUtils.setField(ring, "activeKid", "");
+        ReflectionTestUtils.invokeMethod(ring, "init");
+        JwtUtil util = new JwtUtil(ring);
+        ReflectionTestUtils.setField(util, "secretKey", "0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(util, "expirationTime", 60000L);
+        ReflectionTestUtils.invokeMethod(util, "init");
+        return util;
+    }
+}
@@ -0,0 +1,63 @@
+package com.microservice.user_service.UnitTests.AuthUnitTests.UtilTests;
+
+import com.microservice.user_service.util.TokenBucketTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTableTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void tryAcquire_RefillsAtConfiguredRate() {
+        TokenBucketTable table = new TokenBucketTable();
+        long now = 0;
+
+        // 60 per minute = one per second, burst of two
+        assertEquals(0, table.tryAcquire("key", 60, 2, now));
+        assertEquals(0, table.tryAcquire("key", 60, 2, now));
+        assertEquals(SECOND, table.tryAcquire("key", 60, 2, now));
+
+        assertEquals(0, table.tryAcquire("key", 60, 2, now + SECOND));
+        assertTrue(table.tryAcquire("key", 60, 2, now + SECOND) > 0);
+    }
+
+    @Test
+    void evictIdle_RemovesOnlyLongFullBuckets() {
+        TokenBucketTable table = new TokenBucketTable();
+        table.tryAcquire("idle", 60, 1, 0);
+        table.tryAcquire("busy", 60, 1, 100 * SECOND);
+
+        int evicted = table.evictIdle(10 * SECOND, 100 * SECOND);
+
+        assertEquals(1, evicted);
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void tryAcquire_ConcurrentCallersNeverExceedBurst() throws Exception {
+        TokenBucketTable table = new TokenBucketTable();
+        long now = System.nanoTime();
+        AtomicInteger admitted = new AtomicInteger();
+
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    if (table.tryAcquire("key", 1, 50, now) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(50, admitted.get());
+    }
+}
@@ -0,0 +1,89 @@
+package com.microservice.user_service.UnitTests.AuthUnitTests.UtilTests;
+
+import com.microservice.user_service.util.JwtPrincipal;
+import com.microservice.user_service.util.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void get_ReturnsCachedPrincipal() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, meterRegistry);
+        JwtPrincipal principal = new JwtPrincipal("user-1", "jti", System.currentTimeMillis() + 60000);
+
+        assertNull(cache.get("token"));
+        cache.put("token", principal);
+
+        assertEquals(principal, cache.get("token"));
+        assertEquals(1.0, meterRegistry.counter("jwt.cache.requests", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("jwt.cache.requests", "result", "miss").count());
+    }
+
+    @Test
+    void get_ExpiredEntryIsNotServed() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, meterRegistry);
+        cache.put("token", new JwtPrincipal("user-1", "jti", System.currentTimeMillis() - 1));
+
+        assertNull(cache.get("token"));
+        assertEquals(0, cache.size());
+        assertEquals(1.0, meterRegistry.counter("jwt.cache.evictions").count());
+    }
+
+    @Test
+    void put_StaysWithinMaxSize() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 5, meterRegistry);
+        long expiresAt = System.currentTimeMillis() + 60000;
+
+        for (int i = 0; i < 50; i++) {
+            cache.put("token-" + i, new JwtPrincipal("user-" + i, "jti-" + i, expiresAt));
+        }
+
+        assertTrue(cache.size() <= 5);
+        assertNotNull(cache.get("token-49"));
+    }
+
+    @Test
+    void put_ConcurrentCallersStayNearMaxSize() throws InterruptedException {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, meterRegistry);
+        long expiresAt = System.currentTimeMillis() + 60000;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    cache.put("token-" + thread + "-" + i, new JwtPrincipal("user", "jti", expiresAt));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Callers that found the cache full while another one was evicting insert anyway
+        assertTrue(cache.size() <= 100 + 8);
+    }
+
+    @Test
+    void disabled_NeverCaches() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(false, 10, meterRegistry);
+        cache.put("token", new JwtPrincipal("user-1", "jti", System.currentTimeMillis() + 60000));
+
+        assertFalse(cache.isEnabled());
+        assertNull(cache.get("token"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,114 @@
+package com.microservice.user_service.UnitTests.FoodUnitTests.ControllerTests;
+
+import com.microservice.user_service.controller.FoodController;
+import com.microservice.user_service.model.Food;
+import com.microservice.user_service.service.FoodService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BatchFoodControllerTest {
+
+    @Mock
+    private FoodService foodService;
+
+    @InjectMocks
+    private FoodController foodController;
+
+    private final String USER_ID = "testUserId";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        Authentication auth = new UsernamePasswordAuthenticationToken(USER_ID, null, new ArrayList<>());
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(auth);
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @Test
+    void createFoods_Success() {
+        List<Food> foods = List.of(createValidFood(), createValidFood());
+        List<FoodService.BatchResult> expectedResults = List.of(
+                new FoodService.BatchResult(0, "id-1", FoodService.BatchStatus.CREATED, null),
+                new FoodService.BatchResult(1, "id-2", FoodService.BatchStatus.CREATED, null));
+        when(foodService.createFoods(foods, USER_ID)).thenReturn(expectedResults);
+
+        ResponseEntity<List<FoodService.BatchResult>> response = foodController.createFoods(foods);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(expectedResults, response.getBody());
+    }
+
+    @Test
+    void createFoods_InvalidEntry() {
+        List<Food> foods = List.of(createValidFood());
+        when(foodService.createFoods(foods, USER_ID))
+                .thenThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Entry 0: Name is required"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodController.createFoods(foods));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    @Test
+    void getAllFood_ByIds() {
+        List<Food> expectedFoods = List.of(createValidFood());
+        when(foodService.getFoodsByIds(List.of("id-1", "id-2"), USER_ID)).thenReturn(expectedFoods);
+
+        ResponseEntity<List<Food>> response = foodController.getAllFood(List.of("id-1", "id-2"), null, null, null, null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expectedFoods, response.getBody());
+        verify(foodService, never()).getFoodPage(any(), any(), any());
+    }
+
+    @Test
+    void deleteFoods_Success() {
+        List<FoodService.BatchResult> expectedResults = List.of(
+                new FoodService.BatchResult(0, "id-1", FoodService.BatchStatus.DELETED, null),
+                new FoodService.BatchResult(1, "id-2", FoodService.BatchStatus.NOT_FOUND, "Meal not found"));
+        when(foodService.deleteFoods(List.of("id-1", "id-2"), USER_ID)).thenReturn(expectedResults);
+
+        ResponseEntity<List<FoodService.BatchResult>> response = foodController.deleteFoods(List.of("id-1", "id-2"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expectedResults, response.getBody());
+    }
+
+    @Test
+    void deleteFoods_Unauthorized() {
+        SecurityContextHolder.clearContext();
+
+        assertThrows(SecurityException.class, () -> foodController.deleteFoods(List.of("id-1")));
+        verify(foodService, never()).deleteFoods(any(), any());
+    }
+
+    private Food createValidFood() {
+        Food food = new Food();
+        food.setName("Test Food");
+        food.setProtein(20.0);
+        food.setCarb(30.0);
+        food.setFat(10.0);
+        food.setDate(LocalDate.now());
+        return food;
+    }
+}
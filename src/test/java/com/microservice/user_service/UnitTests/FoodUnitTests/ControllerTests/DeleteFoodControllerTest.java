@@ -16,6 +16,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -44,26 +45,36 @@ class DeleteFoodControllerTest {
 
     @Test
     void deleteFood_Success() {
-        doNothing().when(foodService).deleteFood(FOOD_ID, USER_ID);
+        doNothing().when(foodService).deleteFood(FOOD_ID, USER_ID, null);
 
-        ResponseEntity<Void> response = foodController.deleteFood(FOOD_ID);
+        ResponseEntity<Void> response = foodController.deleteFood(FOOD_ID, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         assertNull(response.getBody());
-        verify(foodService).deleteFood(FOOD_ID, USER_ID);
+        verify(foodService).deleteFood(FOOD_ID, USER_ID, null);
+    }
+
+    @Test
+    void deleteFood_IfMatchFailed() {
+        doThrow(new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Meal has been modified"))
+                .when(foodService).deleteFood(FOOD_ID, USER_ID, List.of(2L));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodController.deleteFood(FOOD_ID, "\"2\""));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatusCode());
     }
 
     @Test
     void deleteFood_NotFound() {
         doThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Food not found"))
-                .when(foodService).deleteFood(FOOD_ID, USER_ID);
+                .when(foodService).deleteFood(FOOD_ID, USER_ID, null);
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> foodController.deleteFood(FOOD_ID));
+                () -> foodController.deleteFood(FOOD_ID, null));
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
         assertEquals("Food not found", exception.getReason());
-        verify(foodService).deleteFood(FOOD_ID, USER_ID);
+        verify(foodService).deleteFood(FOOD_ID, USER_ID, null);
     }
 
     @Test
@@ -71,31 +82,31 @@ class DeleteFoodControllerTest {
         SecurityContextHolder.clearContext();
 
         SecurityException exception = assertThrows(SecurityException.class,
-                () -> foodController.deleteFood(FOOD_ID));
+                () -> foodController.deleteFood(FOOD_ID, null));
         assertEquals("User not authenticated", exception.getMessage());
-        verify(foodService, never()).deleteFood(any(), any());
+        verify(foodService, never()).deleteFood(any(), any(), any());
     }
 
     @Test
     void deleteFood_Forbidden() {
         doThrow(new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied"))
-                .when(foodService).deleteFood(FOOD_ID, USER_ID);
+                .when(foodService).deleteFood(FOOD_ID, USER_ID, null);
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> foodController.deleteFood(FOOD_ID));
+                () -> foodController.deleteFood(FOOD_ID, null));
         assertEquals(HttpStatus.FORBIDDEN, exception.getStatusCode());
         assertEquals("Access denied", exception.getReason());
-        verify(foodService).deleteFood(FOOD_ID, USER_ID);
+        verify(foodService).deleteFood(FOOD_ID, USER_ID, null);
     }
 
     @Test
     void deleteFood_InternalServerError() {
         doThrow(new RuntimeException("Unexpected error"))
-                .when(foodService).deleteFood(FOOD_ID, USER_ID);
+                .when(foodService).deleteFood(FOOD_ID, USER_ID, null);
 
         RuntimeException exception = assertThrows(RuntimeException.class,
-                () -> foodController.deleteFood(FOOD_ID));
+                () -> foodController.deleteFood(FOOD_ID, null));
         assertEquals("Unexpected error", exception.getMessage());
-        verify(foodService).deleteFood(FOOD_ID, USER_ID);
+        verify(foodService).deleteFood(FOOD_ID, USER_ID, null);
     }
 }
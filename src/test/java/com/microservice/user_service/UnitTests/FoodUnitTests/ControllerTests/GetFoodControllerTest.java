@@ -1,6 +1,7 @@
 package com.microservice.user_service.UnitTests.FoodUnitTests.ControllerTests;
 
 import com.microservice.user_service.controller.FoodController;
+import com.microservice.user_service.model.DailyTotals;
 import com.microservice.user_service.model.Food;
 import com.microservice.user_service.service.FoodService;
 import org.junit.jupiter.api.BeforeEach;
@@ -51,28 +52,53 @@ class GetFoodControllerTest {
     void getAllFood_Success() {
         String date = "2024-01-13";
         List<Food> expectedFoods = Arrays.asList(createValidFood(), createValidFood());
-        when(foodService.getAllFood(eq(date), eq(USER_ID))).thenReturn(expectedFoods);
+        when(foodService.getAllFood(eq(date), eq(USER_ID), anyLong())).thenReturn(expectedFoods);
 
-        ResponseEntity<List<Food>> response = foodController.getAllFood(date);
+        ResponseEntity<List<Food>> response = foodController.getAllFood(null, date, null, null, null, null, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(expectedFoods, response.getBody());
         assertEquals(2, response.getBody().size());
-        verify(foodService).getAllFood(eq(date), eq(USER_ID));
+        verify(foodService).getAllFood(eq(date), eq(USER_ID), anyLong());
     }
 
     @Test
     void getAllFood_NoDateProvided_Success() {
         List<Food> expectedFoods = Arrays.asList(createValidFood(), createValidFood());
-        when(foodService.getAllFood(eq(null), eq(USER_ID))).thenReturn(expectedFoods);
+        when(foodService.getFoodPage(USER_ID, null, null)).thenReturn(new FoodService.FoodPage(expectedFoods, null));
 
-        ResponseEntity<List<Food>> response = foodController.getAllFood(null);
+        ResponseEntity<List<Food>> response = foodController.getAllFood(null, null, null, null, null, null, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(expectedFoods, response.getBody());
-        verify(foodService).getAllFood(null, USER_ID);
+        assertFalse(response.getHeaders().containsKey("X-Next-Cursor"));
+        verify(foodService).getFoodPage(USER_ID, null, null);
+        verify(foodService, never()).getAllFood(any(), any(), anyLong());
+    }
+
+    @Test
+    void getAllFood_NextPageCursor() {
+        List<Food> expectedFoods = Arrays.asList(createValidFood(), createValidFood());
+        when(foodService.getFoodPage(USER_ID, "cursor-1", 2)).thenReturn(new FoodService.FoodPage(expectedFoods, "cursor-2"));
+
+        ResponseEntity<List<Food>> response = foodController.getAllFood(null, null, null, null, "cursor-1", 2, null);
+
+        assertEquals(expectedFoods, response.getBody());
+        assertEquals("cursor-2", response.getHeaders().getFirst("X-Next-Cursor"));
+    }
+
+    @Test
+    void getAllFood_DateRange() {
+        List<Food> expectedFoods = Arrays.asList(createValidFood(), createValidFood());
+        when(foodService.getFoodInRange("2024-01-08", "2024-01-14", USER_ID)).thenReturn(expectedFoods);
+
+        ResponseEntity<List<Food>> response = foodController.getAllFood(null, null, "2024-01-08", "2024-01-14", null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expectedFoods, response.getBody());
+        verify(foodService, never()).getFoodPage(any(), any(), any());
     }
 
     @Test
@@ -80,9 +106,21 @@ class GetFoodControllerTest {
         SecurityContextHolder.clearContext();
 
         SecurityException exception = assertThrows(SecurityException.class,
-                () -> foodController.getAllFood(null));
+                () -> foodController.getAllFood(null, null, null, null, null, null, null));
         assertEquals("User not authenticated", exception.getMessage());
-        verify(foodService, never()).getAllFood(any(), any());
+        verify(foodService, never()).getAllFood(any(), any(), anyLong());
+    }
+
+    @Test
+    void getDailyTotals_Success() {
+        DailyTotals expectedTotals = new DailyTotals(LocalDate.of(2024, 1, 13), 40.0, 60.0, 20.0, 2);
+        when(foodService.getDailyTotals("2024-01-13", USER_ID)).thenReturn(expectedTotals);
+
+        ResponseEntity<DailyTotals> response = foodController.getDailyTotals("2024-01-13");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expectedTotals, response.getBody());
+        verify(foodService).getDailyTotals("2024-01-13", USER_ID);
     }
 
     @Test
@@ -91,7 +129,7 @@ class GetFoodControllerTest {
         String foodId = "testFoodId";
         when(foodService.getFoodById(eq(foodId), eq(USER_ID))).thenReturn(expectedFood);
 
-        ResponseEntity<Food> response = foodController.getFoodById(foodId);
+        ResponseEntity<Food> response = foodController.getFoodById(foodId, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -99,6 +137,64 @@ class GetFoodControllerTest {
         verify(foodService).getFoodById(foodId, USER_ID);
     }
 
+    @Test
+    void getAllFood_SetsETag() {
+        when(foodService.getVersion(USER_ID)).thenReturn(7L);
+        when(foodService.getAllFood("2024-01-13", USER_ID, 7L)).thenReturn(List.of(createValidFood()));
+
+        ResponseEntity<List<Food>> response = foodController.getAllFood(null, "2024-01-13", null, null, null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"7\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void getAllFood_NotModified() {
+        when(foodService.getVersion(USER_ID)).thenReturn(7L);
+
+        ResponseEntity<List<Food>> response = foodController.getAllFood(null, "2024-01-13", null, null, null, null, "\"6\", W/\"7\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("\"7\"", response.getHeaders().getETag());
+        verify(foodService, never()).getAllFood(any(), any(), anyLong());
+    }
+
+    @Test
+    void getAllFood_StaleETag() {
+        when(foodService.getVersion(USER_ID)).thenReturn(8L);
+        when(foodService.getAllFood("2024-01-13", USER_ID, 8L)).thenReturn(List.of(createValidFood()));
+
+        ResponseEntity<List<Food>> response = foodController.getAllFood(null, "2024-01-13", null, null, null, null, "\"7\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"8\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void getFoodById_TaggedWithEntryVersion() {
+        Food food = createValidFood();
+        food.setVersion(3L);
+        when(foodService.getFoodById("testFoodId", USER_ID)).thenReturn(food);
+
+        ResponseEntity<Food> response = foodController.getFoodById("testFoodId", null);
+
+        assertEquals("\"3\"", response.getHeaders().getETag());
+        verify(foodService, never()).getVersion(any());
+    }
+
+    @Test
+    void getFoodById_NotModified() {
+        Food food = createValidFood();
+        food.setVersion(3L);
+        when(foodService.getFoodById("testFoodId", USER_ID)).thenReturn(food);
+
+        ResponseEntity<Food> response = foodController.getFoodById("testFoodId", "\"3\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
     @Test
     void getFoodById_NotFound() {
         String foodId = "nonexistentId";
@@ -106,7 +202,7 @@ class GetFoodControllerTest {
                 .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Food not found"));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> foodController.getFoodById(foodId));
+                () -> foodController.getFoodById(foodId, null));
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
         assertEquals("Food not found", exception.getReason());
         verify(foodService).getFoodById(foodId, USER_ID);
@@ -117,7 +213,7 @@ class GetFoodControllerTest {
         SecurityContextHolder.clearContext();
 
         SecurityException exception = assertThrows(SecurityException.class,
-                () -> foodController.getFoodById("testId"));
+                () -> foodController.getFoodById("testId", null));
         assertEquals("User not authenticated", exception.getMessage());
         verify(foodService, never()).getFoodById(any(), any());
     }
@@ -0,0 +1,79 @@
+package com.microservice.user_service.UnitTests.FoodUnitTests.ControllerTests;
+
+import com.microservice.user_service.controller.FoodController;
+import com.microservice.user_service.model.Food;
+import com.microservice.user_service.model.FoodPatch;
+import com.microservice.user_service.service.FoodService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PatchFoodControllerTest {
+
+    @Mock
+    private FoodService foodService;
+
+    @InjectMocks
+    private FoodController foodController;
+
+    private final String USER_ID = "testUserId";
+    private final String FOOD_ID = "testFoodId";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        Authentication auth = new UsernamePasswordAuthenticationToken(USER_ID, null, new ArrayList<>());
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(auth);
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @Test
+    void patchFood_Success() {
+        FoodPatch patch = new FoodPatch();
+        patch.setName("Patched");
+        Food patchedFood = new Food();
+        patchedFood.setName("Patched");
+        when(foodService.patchFood(FOOD_ID, patch, USER_ID, null)).thenReturn(patchedFood);
+
+        ResponseEntity<Food> response = foodController.patchFood(FOOD_ID, patch, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(patchedFood, response.getBody());
+    }
+
+    @Test
+    void patchFood_NotFound() {
+        FoodPatch patch = new FoodPatch();
+        when(foodService.patchFood(FOOD_ID, patch, USER_ID, null))
+                .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Meal not found"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodController.patchFood(FOOD_ID, patch, null));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    void patchFood_Unauthorized() {
+        SecurityContextHolder.clearContext();
+
+        assertThrows(SecurityException.class, () -> foodController.patchFood(FOOD_ID, new FoodPatch(), null));
+        verify(foodService, never()).patchFood(any(), any(), any(), any());
+    }
+}
@@ -19,6 +19,7 @@ import org.springframework.web.server.ResponseStatusException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -52,43 +53,77 @@ class UpdateFoodControllerTest {
         Food updatedFood = createValidFood();
         updatedFood.setName("Updated Food Name");
 
-        when(foodService.updateFood(eq(FOOD_ID), any(Food.class), eq(USER_ID)))
+        when(foodService.updateFood(eq(FOOD_ID), any(Food.class), eq(USER_ID), isNull()))
                 .thenReturn(updatedFood);
 
-        ResponseEntity<Food> response = foodController.updateFood(FOOD_ID, foodToUpdate);
+        ResponseEntity<Food> response = foodController.updateFood(FOOD_ID, foodToUpdate, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals("Updated Food Name", response.getBody().getName());
         assertEquals(USER_ID, response.getBody().getUserId());
-        verify(foodService).updateFood(eq(FOOD_ID), any(Food.class), eq(USER_ID));
+        verify(foodService).updateFood(eq(FOOD_ID), any(Food.class), eq(USER_ID), isNull());
+    }
+
+    @Test
+    void updateFood_IfMatch() {
+        Food foodToUpdate = createValidFood();
+        Food updatedFood = createValidFood();
+        updatedFood.setVersion(5L);
+        when(foodService.updateFood(FOOD_ID, foodToUpdate, USER_ID, List.of(4L))).thenReturn(updatedFood);
+
+        ResponseEntity<Food> response = foodController.updateFood(FOOD_ID, foodToUpdate, "\"4\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"5\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void updateFood_IfMatchWildcardIsUnconditional() {
+        Food foodToUpdate = createValidFood();
+        when(foodService.updateFood(FOOD_ID, foodToUpdate, USER_ID, null)).thenReturn(foodToUpdate);
+
+        ResponseEntity<Food> response = foodController.updateFood(FOOD_ID, foodToUpdate, "*");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void updateFood_IfMatchWeakTagNeverMatches() {
+        Food foodToUpdate = createValidFood();
+        when(foodService.updateFood(FOOD_ID, foodToUpdate, USER_ID, List.of()))
+                .thenThrow(new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Meal has been modified"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodController.updateFood(FOOD_ID, foodToUpdate, "W/\"4\""));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatusCode());
     }
 
     @Test
     void updateFood_NotFound() {
         Food foodToUpdate = createValidFood();
-        when(foodService.updateFood(eq(FOOD_ID), any(Food.class), eq(USER_ID)))
+        when(foodService.updateFood(eq(FOOD_ID), any(Food.class), eq(USER_ID), isNull()))
                 .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Food not found"));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> foodController.updateFood(FOOD_ID, foodToUpdate));
+                () -> foodController.updateFood(FOOD_ID, foodToUpdate, null));
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
         assertEquals("Food not found", exception.getReason());
-        verify(foodService).updateFood(eq(FOOD_ID), any(Food.class), eq(USER_ID));
+        verify(foodService).updateFood(eq(FOOD_ID), any(Food.class), eq(USER_ID), isNull());
     }
 
     @Test
     void updateFood_ValidationError() {
         Food invalidFood = createValidFood();
-        when(foodService.updateFood(eq(FOOD_ID), any(Food.class), eq(USER_ID)))
+        when(foodService.updateFood(eq(FOOD_ID), any(Food.class), eq(USER_ID), isNull()))
                 .thenThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid input"));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> foodController.updateFood(FOOD_ID, invalidFood));
+                () -> foodController.updateFood(FOOD_ID, invalidFood, null));
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
         assertEquals("Invalid input", exception.getReason());
-        verify(foodService).updateFood(eq(FOOD_ID), any(Food.class), eq(USER_ID));
+        verify(foodService).updateFood(eq(FOOD_ID), any(Food.class), eq(USER_ID), isNull());
     }
 
     @Test
@@ -97,22 +132,22 @@ class UpdateFoodControllerTest {
         Food foodToUpdate = createValidFood();
 
         SecurityException exception = assertThrows(SecurityException.class,
-                () -> foodController.updateFood(FOOD_ID, foodToUpdate));
+                () -> foodController.updateFood(FOOD_ID, foodToUpdate, null));
         assertEquals("User not authenticated", exception.getMessage());
-        verify(foodService, never()).updateFood(any(), any(), any());
+        verify(foodService, never()).updateFood(any(), any(), any(), any());
     }
 
     @Test
     void updateFood_Forbidden() {
         Food foodToUpdate = createValidFood();
-        when(foodService.updateFood(eq(FOOD_ID), any(Food.class), eq(USER_ID)))
+        when(foodService.updateFood(eq(FOOD_ID), any(Food.class), eq(USER_ID), isNull()))
                 .thenThrow(new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied"));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> foodController.updateFood(FOOD_ID, foodToUpdate));
+                () -> foodController.updateFood(FOOD_ID, foodToUpdate, null));
         assertEquals(HttpStatus.FORBIDDEN, exception.getStatusCode());
         assertEquals("Access denied", exception.getReason());
-        verify(foodService).updateFood(eq(FOOD_ID), any(Food.class), eq(USER_ID));
+        verify(foodService).updateFood(eq(FOOD_ID), any(Food.class), eq(USER_ID), isNull());
     }
 
     private Food createValidFood() {
@@ -0,0 +1,179 @@
+package com.microservice.user_service.UnitTests.FoodUnitTests.ServiceTests;
+
+import com.microservice.user_service.model.Food;
+import com.microservice.user_service.repository.FoodRepository;
+import com.microservice.user_service.service.DailySummaryService;
+import com.microservice.user_service.service.FoodCache;
+import com.microservice.user_service.service.FoodService;
+import com.microservice.user_service.service.FoodVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchFoodServiceTest {
+
+    @Mock
+    private FoodRepository foodRepository;
+
+    @Mock
+    private DailySummaryService dailySummaryService;
+
+    @Mock
+    private FoodVersionService foodVersionService;
+
+    @Mock
+    private FoodCache foodCache;
+
+    @InjectMocks
+    private FoodService foodService;
+
+    private static final String TEST_USER_ID = "test-user-123";
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(foodService, "maxBatchSize", 3);
+    }
+
+    @Test
+    void createFoods_Success() {
+        List<Food> foods = List.of(createValidFood("Rice"), createValidFood("Chicken"));
+        when(foodRepository.insertUnordered(foods)).thenReturn(Map.of());
+
+        List<FoodService.BatchResult> results = foodService.createFoods(foods, TEST_USER_ID);
+
+        assertEquals(2, results.size());
+        for (int i = 0; i < foods.size(); i++) {
+            Food food = foods.get(i);
+            assertEquals(FoodService.BatchStatus.CREATED, results.get(i).status());
+            assertEquals(food.getId(), results.get(i).id());
+            assertEquals(TEST_USER_ID, food.getUserId());
+            assertNotNull(food.getCreatedAt());
+        }
+        assertEquals(foods.get(0).getCreatedAt(), foods.get(1).getCreatedAt());
+        verify(dailySummaryService).recordCreated(foods);
+    }
+
+    @Test
+    void createFoods_PartialFailure() {
+        List<Food> foods = List.of(createValidFood("Rice"), createValidFood("Chicken"));
+        when(foodRepository.insertUnordered(foods)).thenReturn(Map.of(1, 11000));
+
+        List<FoodService.BatchResult> results = foodService.createFoods(foods, TEST_USER_ID);
+
+        assertEquals(FoodService.BatchStatus.CREATED, results.get(0).status());
+        assertEquals(FoodService.BatchStatus.FAILED, results.get(1).status());
+        assertNull(results.get(1).id());
+        verify(dailySummaryService).recordCreated(List.of(foods.get(0)));
+    }
+
+    @Test
+    void createFoods_InvalidEntryRejectsBatch() {
+        Food invalid = createValidFood("");
+        List<Food> foods = List.of(createValidFood("Rice"), invalid);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.createFoods(foods, TEST_USER_ID));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Entry 1: Name is required", exception.getReason());
+        verify(foodRepository, never()).insertUnordered(any());
+    }
+
+    @Test
+    void createFoods_TooLarge() {
+        List<Food> foods = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            foods.add(createValidFood("Food " + i));
+        }
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.createFoods(foods, TEST_USER_ID));
+        assertEquals("Batch cannot exceed 3 entries", exception.getReason());
+    }
+
+    @Test
+    void getFoodsByIds_KeepsRequestOrder() {
+        Food first = createValidFood("Rice");
+        first.setId("a");
+        Food second = createValidFood("Chicken");
+        second.setId("b");
+        when(foodRepository.findByIdInAndUserId(Set.of("b", "a", "missing"), TEST_USER_ID))
+                .thenReturn(List.of(first, second));
+
+        List<Food> result = foodService.getFoodsByIds(List.of("b", "a", "missing"), TEST_USER_ID);
+
+        assertEquals(List.of(second, first), result);
+    }
+
+    @Test
+    void deleteFoods_ReportsEachId() {
+        Food deleted = createValidFood("Rice");
+        deleted.setId("a");
+        when(foodRepository.deleteOwned(Set.of("a", "other-user"), TEST_USER_ID)).thenReturn(List.of(deleted));
+
+        List<FoodService.BatchResult> results = foodService.deleteFoods(List.of("a", "other-user"), TEST_USER_ID);
+
+        assertEquals(FoodService.BatchStatus.DELETED, results.get(0).status());
+        assertEquals(FoodService.BatchStatus.NOT_FOUND, results.get(1).status());
+        assertEquals("other-user", results.get(1).id());
+        verify(dailySummaryService).recordDeleted(List.of(deleted));
+        verify(foodVersionService).bump(TEST_USER_ID);
+    }
+
+    @Test
+    void deleteFoods_NothingDeletedKeepsVersion() {
+        when(foodRepository.deleteOwned(Set.of("missing"), TEST_USER_ID)).thenReturn(List.of());
+
+        List<FoodService.BatchResult> results = foodService.deleteFoods(List.of("missing"), TEST_USER_ID);
+
+        assertEquals(FoodService.BatchStatus.NOT_FOUND, results.get(0).status());
+        verifyNoInteractions(foodVersionService);
+    }
+
+    @Test
+    void deleteFoods_RemovesDuplicateIdsOnce() {
+        Food deleted = createValidFood("Rice");
+        deleted.setId("a");
+        when(foodRepository.deleteOwned(Set.of("a"), TEST_USER_ID)).thenReturn(List.of(deleted));
+
+        List<FoodService.BatchResult> results = foodService.deleteFoods(List.of("a", "a"), TEST_USER_ID);
+
+        assertEquals(FoodService.BatchStatus.DELETED, results.get(1).status());
+        verify(foodRepository, times(1)).deleteOwned(Set.of("a"), TEST_USER_ID);
+        verify(dailySummaryService).recordDeleted(List.of(deleted));
+    }
+
+    @Test
+    void deleteFoods_Empty() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.deleteFoods(List.of(), TEST_USER_ID));
+        assertEquals("Batch must not be empty", exception.getReason());
+        verifyNoInteractions(foodRepository);
+    }
+
+    private Food createValidFood(String name) {
+        Food food = new Food();
+        food.setName(name);
+        food.setProtein(20.0);
+        food.setCarb(30.0);
+        food.setFat(10.0);
+        food.setDate(LocalDate.of(2024, 1, 13));
+        return food;
+    }
+}
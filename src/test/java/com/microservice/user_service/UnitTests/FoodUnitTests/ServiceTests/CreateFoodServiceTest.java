@@ -2,7 +2,10 @@ package com.microservice.user_service.UnitTests.FoodUnitTests.ServiceTests;
 
 import com.microservice.user_service.model.Food;
 import com.microservice.user_service.repository.FoodRepository;
+import com.microservice.user_service.service.DailySummaryService;
+import com.microservice.user_service.service.FoodCache;
 import com.microservice.user_service.service.FoodService;
+import com.microservice.user_service.service.FoodVersionService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -23,6 +26,15 @@ class CreateFoodServiceTest {
     @Mock
     private FoodRepository foodRepository;
 
+    @Mock
+    private DailySummaryService dailySummaryService;
+
+    @Mock
+    private FoodVersionService foodVersionService;
+
+    @Mock
+    private FoodCache foodCache;
+
     @InjectMocks
     private FoodService foodService;
 
@@ -39,6 +51,8 @@ class CreateFoodServiceTest {
         assertNotNull(result.getCreatedAt());
         assertNotNull(result.getUpdatedAt());
         verify(foodRepository, times(1)).save(any(Food.class));
+        verify(dailySummaryService).recordCreated(food);
+        verify(foodVersionService).bump(food.getUserId());
     }
 
     @Test
@@ -72,6 +86,7 @@ class CreateFoodServiceTest {
                 () -> foodService.createFood(food));
         assertEquals("Date is required", exception.getReason());
         verify(foodRepository, never()).save(any(Food.class));
+        verifyNoInteractions(dailySummaryService);
     }
 
     private Food createValidFood() {
@@ -0,0 +1,256 @@
+package com.microservice.user_service.UnitTests.FoodUnitTests.ServiceTests;
+
+import com.microservice.user_service.model.DailySummary;
+import com.microservice.user_service.model.DailyTotals;
+import com.microservice.user_service.model.Food;
+import com.microservice.user_service.service.DailySummaryService;
+import com.microservice.user_service.service.JobLeaseService;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailySummaryServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private JobLeaseService jobLeaseService;
+
+    @InjectMocks
+    private DailySummaryService dailySummaryService;
+
+    private static final String TEST_USER_ID = "test-user-123";
+    private static final LocalDate DATE = LocalDate.of(2024, 1, 13);
+
+    @Test
+    void recordCreated_IncrementsDay() {
+        dailySummaryService.recordCreated(createFood(DATE, 20.0, 30.0, 10.0));
+
+        List<Upsert> upserts = captureUpserts(1);
+        assertEquals(TEST_USER_ID + ":2024-01-13", upserts.get(0).id());
+        Document inc = upserts.get(0).inc();
+        assertEquals(20.0, inc.get("protein"));
+        assertEquals(30.0, inc.get("carb"));
+        assertEquals(10.0, inc.get("fat"));
+        assertEquals(1, inc.get("count"));
+    }
+
+    @Test
+    void recordDeleted_DecrementsDay() {
+        dailySummaryService.recordDeleted(createFood(DATE, 20.0, 30.0, 10.0));
+
+        Document inc = captureUpserts(1).get(0).inc();
+        assertEquals(-20.0, inc.get("protein"));
+        assertEquals(-1, inc.get("count"));
+    }
+
+    @Test
+    void recordUpdated_SameDayAppliesDifference() {
+        dailySummaryService.recordUpdated(createFood(DATE, 20.0, 30.0, 10.0), createFood(DATE, 25.0, 30.0, 5.0));
+
+        Document inc = captureUpserts(1).get(0).inc();
+        assertEquals(5.0, inc.get("protein"));
+        assertEquals(0.0, inc.get("carb"));
+        assertEquals(-5.0, inc.get("fat"));
+        assertEquals(0, inc.get("count"));
+    }
+
+    @Test
+    void recordUpdated_DateChangeMovesEntry() {
+        dailySummaryService.recordUpdated(createFood(DATE, 20.0, 30.0, 10.0),
+                createFood(DATE.plusDays(1), 20.0, 30.0, 10.0));
+
+        List<Upsert> upserts = captureUpserts(2);
+        assertEquals(TEST_USER_ID + ":2024-01-13", upserts.get(0).id());
+        assertEquals(-1, upserts.get(0).inc().get("count"));
+        assertEquals(TEST_USER_ID + ":2024-01-14", upserts.get(1).id());
+        assertEquals(1, upserts.get(1).inc().get("count"));
+    }
+
+    @Test
+    void recordCreated_BatchUpsertsOncePerDay() {
+        dailySummaryService.recordCreated(List.of(
+                createFood(DATE, 20.0, 30.0, 10.0),
+                createFood(DATE, 5.0, 10.0, 2.0),
+                createFood(DATE.plusDays(1), 1.0, 1.0, 1.0)));
+
+        List<Upsert> upserts = captureUpserts(2);
+        assertEquals(TEST_USER_ID + ":2024-01-13", upserts.get(0).id());
+        assertEquals(25.0, upserts.get(0).inc().get("protein"));
+        assertEquals(2, upserts.get(0).inc().get("count"));
+        assertEquals(1, upserts.get(1).inc().get("count"));
+    }
+
+    @Test
+    void getTotals_ReadsSummary() {
+        when(mongoTemplate.findById(TEST_USER_ID + ":2024-01-13", DailySummary.class))
+                .thenReturn(new DailySummary(TEST_USER_ID + ":2024-01-13", TEST_USER_ID, DATE, 50.0, 120.5, 30.0, 3, null, 1, null));
+
+        Optional<DailyTotals> totals = dailySummaryService.getTotals(TEST_USER_ID, DATE);
+
+        assertTrue(totals.isPresent());
+        assertEquals(DATE, totals.get().getDate());
+        assertEquals(120.5, totals.get().getCarb());
+        assertEquals(3, totals.get().getCount());
+    }
+
+    @Test
+    void getTotals_NoSummary() {
+        assertTrue(dailySummaryService.getTotals(TEST_USER_ID, DATE).isEmpty());
+    }
+
+    @Test
+    void rebuild_OnlyReplacesSummariesUnchangedSinceStart() {
+        DailySummary sum = new DailySummary(null, TEST_USER_ID, DATE, 50.0, 120.5, 30.0, 3, null, 0, null);
+        when(mongoTemplate.aggregateStream(any(Aggregation.class), eq(Food.class), eq(DailySummary.class)))
+                .thenReturn(Stream.of(sum));
+        when(mongoTemplate.remove(any(Query.class), eq(DailySummary.class))).thenReturn(DeleteResult.acknowledged(0));
+
+        dailySummaryService.rebuild();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(DailySummary.class));
+        assertEquals(TEST_USER_ID + ":2024-01-13", query.getValue().getQueryObject().getString("_id"));
+        assertTrue(query.getValue().getQueryObject().get("updatedAt", Document.class).containsKey("$lt"));
+        assertEquals(120.5, update.getValue().getUpdateObject().get("$set", Document.class).get("carb"));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(DailySummary.class));
+    }
+
+    @Test
+    void rebuild_RecomputesDayWrittenDuringRebuildAtItsRevision() {
+        DailySummary stale = new DailySummary(null, TEST_USER_ID, DATE, 50.0, 120.5, 30.0, 3, null, 0, null);
+        DailySummary fresh = new DailySummary(null, TEST_USER_ID, DATE, 60.0, 130.5, 35.0, 4, null, 0, null);
+        when(mongoTemplate.aggregateStream(any(Aggregation.class), eq(Food.class), eq(DailySummary.class)))
+                .thenReturn(Stream.of(stale));
+        // An increment landed after the rebuild started, so the conditional upsert cannot match
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(DailySummary.class)))
+                .thenThrow(new DuplicateKeyException("E11000"));
+        when(mongoTemplate.findById(TEST_USER_ID + ":2024-01-13", DailySummary.class))
+                .thenReturn(new DailySummary(TEST_USER_ID + ":2024-01-13", TEST_USER_ID, DATE, 60.0, 130.5, 35.0, 4,
+                        null, 7, null), new DailySummary(TEST_USER_ID + ":2024-01-13", TEST_USER_ID, DATE, 60.0, 130.5,
+                        35.0, 4, null, 8, null));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Food.class), eq(DailySummary.class)))
+                .thenReturn(new AggregationResults<>(List.of(fresh), new Document()));
+        // The first attempt loses to another increment, the second one replaces the summary
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(DailySummary.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null), UpdateResult.acknowledged(1, 1L, null));
+        when(mongoTemplate.remove(any(Query.class), eq(DailySummary.class))).thenReturn(DeleteResult.acknowledged(0));
+
+        dailySummaryService.rebuild();
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateFirst(queries.capture(), updates.capture(), eq(DailySummary.class));
+        assertEquals(7L, queries.getAllValues().get(0).getQueryObject().get("revision"));
+        assertEquals(8L, queries.getAllValues().get(1).getQueryObject().get("revision"));
+        assertEquals(130.5, updates.getValue().getUpdateObject().get("$set", Document.class).get("carb"));
+    }
+
+    @Test
+    void rebuild_LeavesDayChangedWithinGraceForNextRun() {
+        ReflectionTestUtils.setField(dailySummaryService, "graceMillis", 60000L);
+        // The aggregation may have seen an entry whose increment has not landed yet
+        DailySummary recent = new DailySummary(null, TEST_USER_ID, DATE, 50.0, 120.5, 30.0, 3, null, 0,
+                LocalDateTime.now());
+        when(mongoTemplate.aggregateStream(any(Aggregation.class), eq(Food.class), eq(DailySummary.class)))
+                .thenReturn(Stream.of(recent));
+        when(mongoTemplate.findById(TEST_USER_ID + ":2024-01-13", DailySummary.class))
+                .thenReturn(new DailySummary(TEST_USER_ID + ":2024-01-13", TEST_USER_ID, DATE, 40.0, 100.0, 25.0, 2,
+                        null, 5, null));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Food.class), eq(DailySummary.class)))
+                .thenReturn(new AggregationResults<>(List.of(recent), new Document()));
+        when(mongoTemplate.remove(any(Query.class), eq(DailySummary.class))).thenReturn(DeleteResult.acknowledged(0));
+
+        dailySummaryService.rebuild();
+
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(DailySummary.class));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(DailySummary.class));
+    }
+
+    @Test
+    void scheduleRebuild_SkipsWhileAnotherInstanceHoldsLease() {
+        ReflectionTestUtils.setField(dailySummaryService, "leaseMillis", 3600000L);
+        when(jobLeaseService.tryAcquire("daily-summary-rebuild", Duration.ofHours(1))).thenReturn(false);
+
+        dailySummaryService.scheduleRebuild();
+
+        verify(jobLeaseService, timeout(1000)).tryAcquire("daily-summary-rebuild", Duration.ofHours(1));
+        verify(mongoTemplate, after(100).never()).aggregateStream(any(Aggregation.class), eq(Food.class),
+                eq(DailySummary.class));
+    }
+
+    @Test
+    void backfillOnStartup_RunsOnceAndCompletesLease() {
+        ReflectionTestUtils.setField(dailySummaryService, "backfillOnStartup", true);
+        ReflectionTestUtils.setField(dailySummaryService, "leaseMillis", 3600000L);
+        when(jobLeaseService.tryAcquire("daily-summary-backfill", Duration.ofHours(1))).thenReturn(true);
+        when(mongoTemplate.aggregateStream(any(Aggregation.class), eq(Food.class), eq(DailySummary.class)))
+                .thenReturn(Stream.empty());
+        when(mongoTemplate.remove(any(Query.class), eq(DailySummary.class))).thenReturn(DeleteResult.acknowledged(0));
+
+        dailySummaryService.backfillOnStartup();
+
+        verify(jobLeaseService, timeout(1000)).complete("daily-summary-backfill");
+    }
+
+    @Test
+    void backfillOnStartup_DisabledByDefault() {
+        dailySummaryService.backfillOnStartup();
+
+        verify(jobLeaseService, after(100).never()).tryAcquire(any(), any());
+    }
+
+    private List<Upsert> captureUpserts(int expected) {
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(expected)).upsert(queries.capture(), updates.capture(), eq(DailySummary.class));
+        return IntStream.range(0, expected)
+                .mapToObj(i -> new Upsert(
+                        queries.getAllValues().get(i).getQueryObject().getString("_id"),
+                        updates.getAllValues().get(i).getUpdateObject().get("$inc", Document.class)))
+                .toList();
+    }
+
+    private Food createFood(LocalDate date, double protein, double carb, double fat) {
+        Food food = new Food();
+        food.setName("Test Food");
+        food.setProtein(protein);
+        food.setCarb(carb);
+        food.setFat(fat);
+        food.setDate(date);
+        food.setUserId(TEST_USER_ID);
+        return food;
+    }
+
+    private record Upsert(String id, Document inc) {
+    }
+}
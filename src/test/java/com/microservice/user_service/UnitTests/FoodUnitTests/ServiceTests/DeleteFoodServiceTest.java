@@ -2,19 +2,27 @@ package com.microservice.user_service.UnitTests.FoodUnitTests.ServiceTests;
 
 import com.microservice.user_service.model.Food;
 import com.microservice.user_service.repository.FoodRepository;
+import com.microservice.user_service.service.DailySummaryService;
+import com.microservice.user_service.service.FoodCache;
 import com.microservice.user_service.service.FoodService;
+import com.microservice.user_service.service.FoodVersionService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +31,15 @@ class DeleteFoodServiceTest {
     @Mock
     private FoodRepository foodRepository;
 
+    @Mock
+    private DailySummaryService dailySummaryService;
+
+    @Mock
+    private FoodVersionService foodVersionService;
+
+    @Mock
+    private FoodCache foodCache;
+
     @InjectMocks
     private FoodService foodService;
 
@@ -34,37 +51,88 @@ class DeleteFoodServiceTest {
         food.setId("123");
         food.setUserId(TEST_USER_ID);
 
-        when(foodRepository.findById("123")).thenReturn(Optional.of(food));
-        doNothing().when(foodRepository).delete(food);
+        when(foodRepository.deleteByIdAndUserId("123", TEST_USER_ID)).thenReturn(Optional.of(food));
 
         foodService.deleteFood("123", TEST_USER_ID);
 
-        verify(foodRepository, times(1)).findById("123");
-        verify(foodRepository, times(1)).delete(food);
+        verify(foodRepository, times(1)).deleteByIdAndUserId("123", TEST_USER_ID);
+        verify(foodRepository, never()).findById(any());
+        verify(foodRepository, never()).existsById(any());
+        verify(dailySummaryService).recordDeleted(food);
+        verify(foodVersionService).bump(TEST_USER_ID);
+        verify(foodCache).evict(food);
+    }
+
+    @Test
+    void deleteFood_SummaryFailureStillBumpsVersion() {
+        Food food = createValidFood();
+        food.setId("123");
+        food.setUserId(TEST_USER_ID);
+
+        when(foodRepository.deleteByIdAndUserId("123", TEST_USER_ID)).thenReturn(Optional.of(food));
+        doThrow(new RuntimeException("summary write failed")).when(dailySummaryService).recordDeleted(food);
+
+        assertThrows(RuntimeException.class, () -> foodService.deleteFood("123", TEST_USER_ID));
+
+        // Clients holding the old ETag must not get a 304 for an entry that is gone
+        verify(foodVersionService).bump(TEST_USER_ID);
+    }
+
+    @Test
+    void deleteFood_IfMatchVersion() {
+        Food food = createValidFood();
+        food.setId("123");
+        food.setUserId(TEST_USER_ID);
+        food.setVersion(2L);
+
+        when(foodRepository.findAndRemoveOwned(eq("123"), eq(TEST_USER_ID), any(Criteria.class)))
+                .thenReturn(Optional.of(food));
+
+        foodService.deleteFood("123", TEST_USER_ID, List.of(2L));
+
+        verify(foodRepository, never()).deleteByIdAndUserId(any(), any());
+        verify(dailySummaryService).recordDeleted(food);
+    }
+
+    @Test
+    void deleteFood_VersionMismatch() {
+        Food food = createValidFood();
+        food.setId("123");
+        food.setUserId(TEST_USER_ID);
+        food.setVersion(3L);
+
+        when(foodRepository.findAndRemoveOwned(eq("123"), eq(TEST_USER_ID), any(Criteria.class)))
+                .thenReturn(Optional.empty());
+        when(foodRepository.findById("123")).thenReturn(Optional.of(food));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.deleteFood("123", TEST_USER_ID, List.of(2L)));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatusCode());
+        verifyNoInteractions(dailySummaryService);
     }
 
     @Test
     void deleteFood_NotFound() {
-        when(foodRepository.findById("123")).thenReturn(Optional.empty());
+        when(foodRepository.deleteByIdAndUserId("123", TEST_USER_ID)).thenReturn(Optional.empty());
+        when(foodRepository.existsById("123")).thenReturn(false);
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> foodService.deleteFood("123", TEST_USER_ID));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
         assertEquals("Meal not found", exception.getReason());
-        verify(foodRepository, never()).delete(any(Food.class));
+        verifyNoInteractions(dailySummaryService);
     }
 
     @Test
     void deleteFood_WrongUser() {
-        Food food = createValidFood();
-        food.setId("123");
-        food.setUserId("different-user");
-
-        when(foodRepository.findById("123")).thenReturn(Optional.of(food));
+        when(foodRepository.deleteByIdAndUserId("123", TEST_USER_ID)).thenReturn(Optional.empty());
+        when(foodRepository.existsById("123")).thenReturn(true);
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> foodService.deleteFood("123", TEST_USER_ID));
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatusCode());
         assertEquals("Access denied", exception.getReason());
-        verify(foodRepository, never()).delete(any(Food.class));
+        verifyNoInteractions(dailySummaryService);
     }
 
     private Food createValidFood() {
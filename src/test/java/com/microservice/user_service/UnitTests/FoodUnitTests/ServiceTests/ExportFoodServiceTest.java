@@ -0,0 +1,96 @@
+package com.microservice.user_service.UnitTests.FoodUnitTests.ServiceTests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.microservice.user_service.model.Food;
+import com.microservice.user_service.repository.FoodRepository;
+import com.microservice.user_service.service.FoodExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportFoodServiceTest {
+
+    @Mock
+    private FoodRepository foodRepository;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private FoodExportService foodExportService;
+
+    private static final String TEST_USER_ID = "test-user-123";
+
+    @BeforeEach
+    void setUp() {
+        foodExportService = new FoodExportService(foodRepository, objectMapper);
+    }
+
+    @Test
+    void export_Ndjson() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(foodRepository.streamByUserIdOrderByDateAscIdAsc(TEST_USER_ID))
+                .thenReturn(Stream.of(createFood("1", "Oats"), createFood("2", "Eggs")).onClose(() -> closed.set(true)));
+
+        String[] lines = export(FoodExportService.Format.NDJSON).split("\n");
+
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("Oats", first.get("name").asText());
+        assertEquals("2024-01-13", first.get("date").asText());
+        assertEquals("Eggs", objectMapper.readTree(lines[1]).get("name").asText());
+        assertTrue(closed.get(), "The cursor stream must be closed");
+    }
+
+    @Test
+    void export_CsvEscapesValues() throws IOException {
+        when(foodRepository.streamByUserIdOrderByDateAscIdAsc(TEST_USER_ID))
+                .thenReturn(Stream.of(createFood("1", "Rice, \"brown\""), createFood("2", "=SUM(A1)")));
+
+        String[] lines = export(FoodExportService.Format.CSV).split("\n");
+
+        assertEquals(3, lines.length);
+        assertEquals("id,date,name,protein,carb,fat,createdAt,updatedAt", lines[0]);
+        assertTrue(lines[1].startsWith("1,2024-01-13,\"Rice, \"\"brown\"\"\",20.0,30.0,10.0,"));
+        assertTrue(lines[2].startsWith("2,2024-01-13,'=SUM(A1),"));
+    }
+
+    @Test
+    void parseFormat_Unsupported() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> FoodExportService.Format.parse("xml"));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertEquals(FoodExportService.Format.CSV, FoodExportService.Format.parse("CSV"));
+    }
+
+    private String export(FoodExportService.Format format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        foodExportService.export(TEST_USER_ID, format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private Food createFood(String id, String name) {
+        return new Food(id, name, 20.0, 30.0, 10.0, LocalDate.of(2024, 1, 13), TEST_USER_ID,
+                LocalDateTime.of(2024, 1, 13, 8, 0), LocalDateTime.of(2024, 1, 13, 8, 0), 0L);
+    }
+}
@@ -0,0 +1,61 @@
+package com.microservice.user_service.UnitTests.FoodUnitTests.ServiceTests;
+
+import com.microservice.user_service.model.Food;
+import com.microservice.user_service.service.FoodCache;
+import com.microservice.user_service.service.InProcessFoodInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FoodCacheTest {
+
+    private static final String TEST_USER_ID = "test-user-123";
+    private static final LocalDate TEST_DATE = LocalDate.of(2024, 1, 13);
+
+    private FoodCache foodCache;
+
+    @BeforeEach
+    void setUp() {
+        foodCache = new FoodCache(true, 100, 100, 60000, new InProcessFoodInvalidationBus(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getDay_ServedUpToTheVersionItWasLoadedAt() {
+        List<Food> foods = List.of(createFood());
+        foodCache.putDay(TEST_USER_ID, TEST_DATE, foods, 5L, foodCache.dayStamp(TEST_USER_ID, TEST_DATE));
+
+        assertEquals(foods, foodCache.getDay(TEST_USER_ID, TEST_DATE, 4L).orElseThrow());
+        assertEquals(foods, foodCache.getDay(TEST_USER_ID, TEST_DATE, 5L).orElseThrow());
+    }
+
+    @Test
+    void getDay_NotServedForNewerVersion() {
+        // A peer's write bumped the version before its invalidation arrived
+        foodCache.putDay(TEST_USER_ID, TEST_DATE, List.of(createFood()), 5L, foodCache.dayStamp(TEST_USER_ID, TEST_DATE));
+
+        assertTrue(foodCache.getDay(TEST_USER_ID, TEST_DATE, 6L).isEmpty());
+    }
+
+    @Test
+    void putDay_ReloadReplacesOlderVersion() {
+        foodCache.putDay(TEST_USER_ID, TEST_DATE, List.of(createFood()), 5L, foodCache.dayStamp(TEST_USER_ID, TEST_DATE));
+        List<Food> reloaded = List.of(createFood(), createFood());
+
+        foodCache.putDay(TEST_USER_ID, TEST_DATE, reloaded, 6L, foodCache.dayStamp(TEST_USER_ID, TEST_DATE));
+
+        assertEquals(reloaded, foodCache.getDay(TEST_USER_ID, TEST_DATE, 6L).orElseThrow());
+    }
+
+    private static Food createFood() {
+        Food food = new Food();
+        food.setName("Test Food");
+        food.setDate(TEST_DATE);
+        food.setUserId(TEST_USER_ID);
+        return food;
+    }
+}
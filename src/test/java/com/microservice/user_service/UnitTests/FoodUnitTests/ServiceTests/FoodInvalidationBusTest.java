@@ -0,0 +1,189 @@
+package com.microservice.user_service.UnitTests.FoodUnitTests.ServiceTests;
+
+import com.microservice.user_service.model.Food;
+import com.microservice.user_service.model.FoodInvalidation;
+import com.microservice.user_service.model.FoodInvalidationBatch;
+import com.microservice.user_service.service.FoodCache;
+import com.microservice.user_service.service.FoodInvalidationBus;
+import com.microservice.user_service.service.InProcessFoodInvalidationBus;
+import com.microservice.user_service.service.MongoFoodInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FoodInvalidationBusTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private FoodInvalidationBus.Listener listener;
+
+    private MutableClock clock;
+
+    private static final String TEST_USER_ID = "test-user-123";
+    private static final LocalDate TEST_DATE = LocalDate.of(2024, 1, 13);
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-13T12:00:00Z"));
+    }
+
+    @Test
+    void inProcess_WriteEvictsPeerCache() {
+        InProcessFoodInvalidationBus bus = new InProcessFoodInvalidationBus();
+        FoodCache writer = newCache(bus);
+        FoodCache peer = newCache(bus);
+        Food food = createFood("123");
+        peer.putDay(TEST_USER_ID, TEST_DATE, List.of(food), 0L, peer.dayStamp(TEST_USER_ID, TEST_DATE));
+        peer.putEntry(food, peer.entryStamp(food.getId()));
+
+        writer.evict(food);
+
+        assertTrue(peer.getDay(TEST_USER_ID, TEST_DATE, 0L).isEmpty());
+        assertTrue(peer.getEntry("123").isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void mongo_FlushDeduplicatesAndBatches() {
+        MongoFoodInvalidationBus bus = newMongoBus(2);
+        bus.publish(invalidation("1"));
+        bus.publish(invalidation("1"));
+        bus.publish(invalidation("2"));
+        bus.publish(invalidation("3"));
+
+        bus.flush();
+
+        ArgumentCaptor<Collection<FoodInvalidationBatch>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(mongoTemplate).insert(batches.capture(), eq(FoodInvalidationBatch.class));
+        List<FoodInvalidationBatch> inserted = List.copyOf(batches.getValue());
+        assertEquals(2, inserted.size());
+        assertEquals(List.of(invalidation("1"), invalidation("2")), inserted.get(0).getInvalidations());
+        assertEquals(List.of(invalidation("3")), inserted.get(1).getInvalidations());
+        assertEquals(clock.instant().plus(Duration.ofHours(1)), inserted.get(0).getExpiresAt());
+
+        bus.flush();
+        verifyNoMoreInteractions(mongoTemplate);
+    }
+
+    @Test
+    void mongo_FailedFlushIsRetried() {
+        MongoFoodInvalidationBus bus = newMongoBus(500);
+        bus.publish(invalidation("1"));
+        when(mongoTemplate.insert(anyList(), eq(FoodInvalidationBatch.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of());
+
+        bus.flush();
+        bus.flush();
+
+        verify(mongoTemplate, times(2)).insert(anyList(), eq(FoodInvalidationBatch.class));
+    }
+
+    @Test
+    void mongo_PollAppliesEachBatchOnce() {
+        MongoFoodInvalidationBus bus = newMongoBus(500);
+        bus.subscribe(listener);
+        FoodInvalidationBatch batch = new FoodInvalidationBatch(new ObjectId(), "peer", clock.instant(),
+                clock.instant().plus(Duration.ofHours(1)), List.of(invalidation("1")));
+        when(mongoTemplate.find(any(Query.class), eq(FoodInvalidationBatch.class))).thenReturn(List.of(batch));
+
+        bus.poll();
+        clock.advance(Duration.ofSeconds(1));
+        bus.poll();
+
+        verify(listener, times(1)).onInvalidations(List.of(invalidation("1")));
+        verify(listener, never()).onInvalidationsMissed();
+    }
+
+    @Test
+    void mongo_PollAfterRetentionEvictsEverything() {
+        MongoFoodInvalidationBus bus = newMongoBus(500);
+        bus.subscribe(listener);
+        when(mongoTemplate.find(any(Query.class), eq(FoodInvalidationBatch.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of());
+
+        bus.poll();
+        clock.advance(Duration.ofHours(1));
+        bus.poll();
+
+        verify(listener).onInvalidationsMissed();
+        verify(listener, never()).onInvalidations(any());
+    }
+
+    private FoodCache newCache(FoodInvalidationBus bus) {
+        return new FoodCache(true, 100, 100, 60000, bus, new SimpleMeterRegistry());
+    }
+
+    private MongoFoodInvalidationBus newMongoBus(int maxBatchSize) {
+        return new MongoFoodInvalidationBus(mongoTemplate, clock, maxBatchSize,
+                Duration.ofSeconds(10), Duration.ofHours(1));
+    }
+
+    private static FoodInvalidation invalidation(String foodId) {
+        return new FoodInvalidation(TEST_USER_ID, TEST_DATE, foodId);
+    }
+
+    private static Food createFood(String id) {
+        Food food = new Food();
+        food.setId(id);
+        food.setName("Test Food");
+        food.setDate(TEST_DATE);
+        food.setUserId(TEST_USER_ID);
+        return food;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
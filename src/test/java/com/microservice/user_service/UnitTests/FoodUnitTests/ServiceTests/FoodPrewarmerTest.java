@@ -0,0 +1,53 @@
+package com.microservice.user_service.UnitTests.FoodUnitTests.ServiceTests;
+
+import com.microservice.user_service.model.UserLoggedInEvent;
+import com.microservice.user_service.service.FoodPrewarmer;
+import com.microservice.user_service.service.FoodService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FoodPrewarmerTest {
+
+    @Mock
+    private FoodService foodService;
+
+    private static final String TEST_USER_ID = "test-user-123";
+
+    @Test
+    void onUserLoggedIn_PrewarmsOffTheCallingThread() throws InterruptedException {
+        FoodPrewarmer prewarmer = new FoodPrewarmer(foodService, true, 1, 10);
+        AtomicReference<String> thread = new AtomicReference<>();
+        CountDownLatch prewarmed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            prewarmed.countDown();
+            return null;
+        }).when(foodService).prewarm(TEST_USER_ID);
+
+        prewarmer.onUserLoggedIn(new UserLoggedInEvent(TEST_USER_ID));
+
+        assertTrue(prewarmed.await(1, TimeUnit.SECONDS));
+        assertTrue(thread.get().startsWith("food-prewarm-"));
+        prewarmer.shutdown();
+    }
+
+    @Test
+    void onUserLoggedIn_DisabledByDefault() {
+        FoodPrewarmer prewarmer = new FoodPrewarmer(foodService, false, 1, 10);
+
+        prewarmer.onUserLoggedIn(new UserLoggedInEvent(TEST_USER_ID));
+
+        verifyNoInteractions(foodService);
+        prewarmer.shutdown();
+    }
+}
@@ -0,0 +1,171 @@
+package com.microservice.user_service.UnitTests.FoodUnitTests.ServiceTests;
+
+import com.microservice.user_service.model.Food;
+import com.microservice.user_service.model.FoodPatch;
+import com.microservice.user_service.repository.FoodRepository;
+import com.microservice.user_service.service.DailySummaryService;
+import com.microservice.user_service.service.FoodCache;
+import com.microservice.user_service.service.FoodService;
+import com.microservice.user_service.service.FoodVersionService;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PatchFoodServiceTest {
+
+    @Mock
+    private FoodRepository foodRepository;
+
+    @Mock
+    private DailySummaryService dailySummaryService;
+
+    @Mock
+    private FoodVersionService foodVersionService;
+
+    @Mock
+    private FoodCache foodCache;
+
+    @InjectMocks
+    private FoodService foodService;
+
+    private static final String TEST_USER_ID = "test-user-123";
+
+    @Test
+    void patchFood_SetsOnlySuppliedFields() {
+        Food existingFood = createValidFood();
+        when(foodRepository.findAndModifyOwned(eq("123"), eq(TEST_USER_ID), any(Criteria.class), any(Update.class)))
+                .thenReturn(Optional.of(existingFood));
+
+        FoodPatch patch = new FoodPatch();
+        patch.setProtein(35.0);
+        Food result = foodService.patchFood("123", patch, TEST_USER_ID);
+
+        assertEquals(35.0, result.getProtein());
+        assertEquals("Test Food", result.getName());
+        assertEquals(30.0, result.getCarb());
+        assertEquals(existingFood.getDate(), result.getDate());
+
+        ArgumentCaptor<Criteria> condition = ArgumentCaptor.forClass(Criteria.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(foodRepository).findAndModifyOwned(eq("123"), eq(TEST_USER_ID), condition.capture(), update.capture());
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals(35.0, set.get("protein"));
+        assertTrue(set.containsKey("updatedAt"));
+        assertEquals(2, set.size());
+        assertTrue(condition.getValue().getCriteriaObject().toJson().contains("$ne"));
+        verify(dailySummaryService).recordUpdated(existingFood, result);
+    }
+
+    @Test
+    void patchFood_NoChangeSkipsWrite() {
+        Food existingFood = createValidFood();
+        when(foodRepository.findAndModifyOwned(eq("123"), eq(TEST_USER_ID), any(Criteria.class), any(Update.class)))
+                .thenReturn(Optional.empty());
+        when(foodRepository.findById("123")).thenReturn(Optional.of(existingFood));
+
+        FoodPatch patch = new FoodPatch();
+        patch.setName("Test Food");
+        Food result = foodService.patchFood("123", patch, TEST_USER_ID);
+
+        assertSame(existingFood, result);
+        verifyNoInteractions(dailySummaryService, foodVersionService);
+    }
+
+    @Test
+    void patchFood_NoChangeWithStaleVersion() {
+        Food existingFood = createValidFood();
+        existingFood.setVersion(6L);
+        when(foodRepository.findAndModifyOwned(eq("123"), eq(TEST_USER_ID), any(Criteria.class), any(Update.class)))
+                .thenReturn(Optional.empty());
+        when(foodRepository.findById("123")).thenReturn(Optional.of(existingFood));
+
+        FoodPatch patch = new FoodPatch();
+        patch.setName("Test Food");
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.patchFood("123", patch, TEST_USER_ID, List.of(5L)));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatusCode());
+    }
+
+    @Test
+    void patchFood_EmptyPatchDoesNotWrite() {
+        Food existingFood = createValidFood();
+        when(foodRepository.findById("123")).thenReturn(Optional.of(existingFood));
+
+        Food result = foodService.patchFood("123", new FoodPatch(), TEST_USER_ID);
+
+        assertSame(existingFood, result);
+        verify(foodRepository, never()).findAndModifyOwned(any(), any(), any(Criteria.class), any());
+    }
+
+    @Test
+    void patchFood_NotFound() {
+        when(foodRepository.findAndModifyOwned(eq("123"), eq(TEST_USER_ID), any(Criteria.class), any(Update.class)))
+                .thenReturn(Optional.empty());
+        when(foodRepository.findById("123")).thenReturn(Optional.empty());
+
+        FoodPatch patch = new FoodPatch();
+        patch.setFat(5.0);
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.patchFood("123", patch, TEST_USER_ID));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    void patchFood_WrongUser() {
+        Food existingFood = createValidFood();
+        existingFood.setUserId("different-user");
+        when(foodRepository.findAndModifyOwned(eq("123"), eq(TEST_USER_ID), any(Criteria.class), any(Update.class)))
+                .thenReturn(Optional.empty());
+        when(foodRepository.findById("123")).thenReturn(Optional.of(existingFood));
+
+        FoodPatch patch = new FoodPatch();
+        patch.setFat(5.0);
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.patchFood("123", patch, TEST_USER_ID));
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatusCode());
+    }
+
+    @Test
+    void patchFood_InvalidSuppliedField() {
+        FoodPatch patch = new FoodPatch();
+        patch.setCarb(-1.0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.patchFood("123", patch, TEST_USER_ID));
+        assertEquals("Nutritional values cannot be negative", exception.getReason());
+        verifyNoInteractions(foodRepository);
+    }
+
+    private Food createValidFood() {
+        Food food = new Food();
+        food.setId("123");
+        food.setUserId(TEST_USER_ID);
+        food.setName("Test Food");
+        food.setProtein(20.0);
+        food.setCarb(30.0);
+        food.setFat(10.0);
+        food.setDate(LocalDate.now());
+        food.setCreatedAt(LocalDateTime.now());
+        food.setUpdatedAt(LocalDateTime.now());
+        return food;
+    }
+}
@@ -1,13 +1,22 @@
 package com.microservice.user_service.UnitTests.FoodUnitTests.ServiceTests;
 
+import com.microservice.user_service.model.DailyTotals;
 import com.microservice.user_service.model.Food;
 import com.microservice.user_service.repository.FoodRepository;
+import com.microservice.user_service.service.DailySummaryService;
+import com.microservice.user_service.service.FoodCache;
 import com.microservice.user_service.service.FoodService;
+import com.microservice.user_service.service.FoodVersionService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
@@ -26,11 +35,133 @@ class ReadFoodServiceTest {
     @Mock
     private FoodRepository foodRepository;
 
+    @Mock
+    private DailySummaryService dailySummaryService;
+
+    @Mock
+    private FoodVersionService foodVersionService;
+
+    @Mock
+    private FoodCache foodCache;
+
     @InjectMocks
     private FoodService foodService;
 
     private static final String TEST_USER_ID = "test-user-123";
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(foodService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(foodService, "maxPageSize", 3);
+        ReflectionTestUtils.setField(foodService, "maxRangeDays", 7);
+    }
+
+    @Test
+    void getFoodPage_FirstPageWithMore() {
+        List<Food> foods = Arrays.asList(createPagedFood(3), createPagedFood(2), createPagedFood(1));
+        when(foodRepository.findByUserIdOrderByDateDescIdDesc(TEST_USER_ID, Limit.of(3))).thenReturn(foods);
+
+        FoodService.FoodPage page = foodService.getFoodPage(TEST_USER_ID, null, null);
+
+        assertEquals(2, page.items().size());
+        assertEquals(foods.get(1), page.items().get(1));
+        assertNotNull(page.nextCursor());
+    }
+
+    @Test
+    void getFoodPage_CursorContinuesAfterLastEntry() {
+        Food last = createPagedFood(3);
+        when(foodRepository.findByUserIdOrderByDateDescIdDesc(TEST_USER_ID, Limit.of(2)))
+                .thenReturn(Arrays.asList(last, createPagedFood(2)));
+        String cursor = foodService.getFoodPage(TEST_USER_ID, null, 1).nextCursor();
+
+        Food next = createPagedFood(2);
+        when(foodRepository.findPageAfter(TEST_USER_ID, last.getDate(), new ObjectId(last.getId()), Limit.of(2)))
+                .thenReturn(List.of(next));
+
+        FoodService.FoodPage page = foodService.getFoodPage(TEST_USER_ID, cursor, 1);
+
+        assertEquals(List.of(next), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getFoodPage_LimitIsCapped() {
+        when(foodRepository.findByUserIdOrderByDateDescIdDesc(TEST_USER_ID, Limit.of(4))).thenReturn(List.of());
+
+        FoodService.FoodPage page = foodService.getFoodPage(TEST_USER_ID, null, 1000);
+
+        assertTrue(page.items().isEmpty());
+        assertNull(page.nextCursor());
+        verify(foodRepository).findByUserIdOrderByDateDescIdDesc(TEST_USER_ID, Limit.of(4));
+    }
+
+    @Test
+    void getDailyTotals_FromSummary() {
+        LocalDate date = LocalDate.of(2024, 1, 13);
+        when(dailySummaryService.getTotals(TEST_USER_ID, date))
+                .thenReturn(Optional.of(new DailyTotals(date, 50.0, 120.5, 30.0, 3)));
+
+        DailyTotals totals = foodService.getDailyTotals("2024-01-13", TEST_USER_ID);
+
+        assertEquals(date, totals.getDate());
+        assertEquals(120.5, totals.getCarb());
+        assertEquals(3, totals.getCount());
+        verify(foodRepository, never()).sumByUserIdAndDate(any(), any());
+    }
+
+    @Test
+    void getDailyTotals_NoSummaryFallsBackToAggregation() {
+        LocalDate date = LocalDate.of(2024, 1, 13);
+        when(dailySummaryService.getTotals(TEST_USER_ID, date)).thenReturn(Optional.empty());
+        when(foodRepository.sumByUserIdAndDate(TEST_USER_ID, date))
+                .thenReturn(Optional.of(new DailyTotals(null, 50.0, 120.5, 30.0, 3)));
+
+        DailyTotals totals = foodService.getDailyTotals("2024-01-13", TEST_USER_ID);
+
+        assertEquals(date, totals.getDate());
+        assertEquals(50.0, totals.getProtein());
+        assertEquals(120.5, totals.getCarb());
+        assertEquals(30.0, totals.getFat());
+        assertEquals(3, totals.getCount());
+        verify(foodRepository, never()).findByDateAndUserId(any(), any());
+    }
+
+    @Test
+    void getDailyTotals_NoEntries() {
+        when(dailySummaryService.getTotals(TEST_USER_ID, LocalDate.of(2024, 1, 13))).thenReturn(Optional.empty());
+        when(foodRepository.sumByUserIdAndDate(TEST_USER_ID, LocalDate.of(2024, 1, 13))).thenReturn(Optional.empty());
+
+        DailyTotals totals = foodService.getDailyTotals("2024-01-13", TEST_USER_ID);
+
+        assertEquals(LocalDate.of(2024, 1, 13), totals.getDate());
+        assertEquals(0.0, totals.getProtein());
+        assertEquals(0, totals.getCount());
+    }
+
+    @Test
+    void getDailyTotals_InvalidDate() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.getDailyTotals("13-01-2024", TEST_USER_ID));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Invalid date format", exception.getReason());
+    }
+
+    @Test
+    void getFoodPage_InvalidCursor() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.getFoodPage(TEST_USER_ID, "not-a-cursor", null));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Invalid cursor", exception.getReason());
+    }
+
+    @Test
+    void getFoodPage_InvalidLimit() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.getFoodPage(TEST_USER_ID, null, 0));
+        assertEquals("Limit must be positive", exception.getReason());
+    }
+
     @Test
     void getAllFood_WithDate() {
         LocalDate date = LocalDate.now();
@@ -40,27 +171,74 @@ class ReadFoodServiceTest {
 
         when(foodRepository.findByDateAndUserId(date, TEST_USER_ID)).thenReturn(expectedFoods);
 
-        List<Food> result = foodService.getAllFood(date.toString(), TEST_USER_ID);
+        List<Food> result = foodService.getAllFood(date.toString(), TEST_USER_ID, 4L);
 
         assertEquals(2, result.size());
         verify(foodRepository, times(1)).findByDateAndUserId(date, TEST_USER_ID);
-        verify(foodRepository, never()).findByUserId(TEST_USER_ID);
+        verify(foodCache).putDay(TEST_USER_ID, date, expectedFoods, 4L, 0L);
     }
 
     @Test
-    void getAllFood_WithoutDate() {
-        List<Food> expectedFoods = Arrays.asList(
-                createValidFood(),
-                createValidFood(),
-                createValidFood());
+    void getAllFood_WithDateFromCache() {
+        LocalDate date = LocalDate.now();
+        List<Food> cachedFoods = List.of(createValidFood());
+        when(foodCache.getDay(TEST_USER_ID, date, 4L)).thenReturn(Optional.of(cachedFoods));
 
-        when(foodRepository.findByUserId(TEST_USER_ID)).thenReturn(expectedFoods);
+        List<Food> result = foodService.getAllFood(date.toString(), TEST_USER_ID, 4L);
 
-        List<Food> result = foodService.getAllFood(null, TEST_USER_ID);
+        assertSame(cachedFoods, result);
+        verifyNoInteractions(foodRepository);
+    }
 
-        assertEquals(3, result.size());
-        verify(foodRepository, times(1)).findByUserId(TEST_USER_ID);
-        verify(foodRepository, never()).findByDateAndUserId(any(), any());
+    @Test
+    void getFoodInRange_Success() {
+        List<Food> expectedFoods = Arrays.asList(createValidFood(), createValidFood());
+        when(foodRepository.findByUserIdAndDateRange(TEST_USER_ID, LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 14)))
+                .thenReturn(expectedFoods);
+
+        List<Food> result = foodService.getFoodInRange("2024-01-08", "2024-01-14", TEST_USER_ID);
+
+        assertEquals(expectedFoods, result);
+    }
+
+    @Test
+    void getFoodInRange_SpanTooLong() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.getFoodInRange("2024-01-08", "2024-01-15", TEST_USER_ID));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Date range cannot exceed 7 days", exception.getReason());
+        verify(foodRepository, never()).findByUserIdAndDateRange(any(), any(), any());
+    }
+
+    @Test
+    void getFoodInRange_FromAfterTo() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.getFoodInRange("2024-01-14", "2024-01-08", TEST_USER_ID));
+        assertEquals("from must not be after to", exception.getReason());
+    }
+
+    @Test
+    void getFoodInRange_MissingBound() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.getFoodInRange("2024-01-08", null, TEST_USER_ID));
+        assertEquals("Both from and to are required", exception.getReason());
+    }
+
+    @Test
+    void getFoodInRange_InvalidDate() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.getFoodInRange("2024-01-08", "14-01-2024", TEST_USER_ID));
+        assertEquals("Invalid date format", exception.getReason());
+    }
+
+    @Test
+    void getAllFood_DateRequired() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.getAllFood(null, TEST_USER_ID, 4L));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Date is required", exception.getReason());
+        verifyNoInteractions(foodRepository);
     }
 
     @Test
@@ -100,6 +278,47 @@ class ReadFoodServiceTest {
         assertEquals("Access denied", exception.getReason());
     }
 
+    @Test
+    void getFoodById_FromCacheStillChecksOwner() {
+        Food food = createValidFood();
+        food.setId("123");
+        food.setUserId("different-user");
+        when(foodCache.getEntry("123")).thenReturn(Optional.of(food));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.getFoodById("123", TEST_USER_ID));
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatusCode());
+        verifyNoInteractions(foodRepository);
+    }
+
+    @Test
+    void prewarm_LoadsTodayIntoCache() {
+        List<Food> foods = List.of(createValidFood());
+        when(foodCache.isEnabled()).thenReturn(true);
+        when(foodCache.dayStamp(TEST_USER_ID, LocalDate.now())).thenReturn(3L);
+        when(foodVersionService.getVersion(TEST_USER_ID)).thenReturn(5L);
+        when(foodRepository.findByDateAndUserId(LocalDate.now(), TEST_USER_ID)).thenReturn(foods);
+
+        foodService.prewarm(TEST_USER_ID);
+
+        verify(foodCache).putDay(TEST_USER_ID, LocalDate.now(), foods, 5L, 3L);
+    }
+
+    @Test
+    void prewarm_CacheDisabled() {
+        foodService.prewarm(TEST_USER_ID);
+
+        verifyNoInteractions(foodRepository);
+    }
+
+    private Food createPagedFood(int daysAgo) {
+        Food food = createValidFood();
+        food.setId(new ObjectId().toHexString());
+        food.setDate(LocalDate.now().minusDays(daysAgo));
+        food.setUserId(TEST_USER_ID);
+        return food;
+    }
+
     private Food createValidFood() {
         Food food = new Food();
         food.setName("Test Food");
@@ -2,20 +2,31 @@ package com.microservice.user_service.UnitTests.FoodUnitTests.ServiceTests;
 
 import com.microservice.user_service.model.Food;
 import com.microservice.user_service.repository.FoodRepository;
+import com.microservice.user_service.service.DailySummaryService;
+import com.microservice.user_service.service.FoodCache;
 import com.microservice.user_service.service.FoodService;
+import com.microservice.user_service.service.FoodVersionService;
+import org.bson.Document;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +35,15 @@ class UpdateFoodServiceTest {
     @Mock
     private FoodRepository foodRepository;
 
+    @Mock
+    private DailySummaryService dailySummaryService;
+
+    @Mock
+    private FoodVersionService foodVersionService;
+
+    @Mock
+    private FoodCache foodCache;
+
     @InjectMocks
     private FoodService foodService;
 
@@ -41,43 +61,145 @@ class UpdateFoodServiceTest {
         updatedFood.setCarb(40.0);
         updatedFood.setFat(15.0);
 
-        when(foodRepository.findById("123")).thenReturn(Optional.of(existingFood));
-        when(foodRepository.save(any(Food.class))).thenReturn(updatedFood);
+        when(foodRepository.findAndModifyOwned(eq("123"), eq(TEST_USER_ID), any(Update.class)))
+                .thenReturn(Optional.of(existingFood));
 
         Food result = foodService.updateFood("123", updatedFood, TEST_USER_ID);
 
         assertNotNull(result);
+        assertEquals("123", result.getId());
+        assertEquals(TEST_USER_ID, result.getUserId());
         assertEquals("Updated Food", result.getName());
         assertEquals(30.0, result.getProtein());
         assertEquals(40.0, result.getCarb());
         assertEquals(15.0, result.getFat());
-        verify(foodRepository, times(1)).save(any(Food.class));
+        assertEquals(existingFood.getCreatedAt(), result.getCreatedAt());
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(foodRepository).findAndModifyOwned(eq("123"), eq(TEST_USER_ID), update.capture());
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals("Updated Food", set.get("name"));
+        assertEquals(30.0, set.get("protein"));
+        verify(foodRepository, never()).findById(any());
+        verify(foodRepository, never()).existsById(any());
+        verify(dailySummaryService).recordUpdated(existingFood, result);
+        verify(foodVersionService).bump(TEST_USER_ID);
+        verify(foodCache).evict(existingFood);
+        verify(foodCache).evict(result);
     }
 
     @Test
-    void updateFood_NotFound() {
+    void updateFood_MovedToAnotherDay() {
+        Food existingFood = createValidFood();
+        existingFood.setId("123");
+        existingFood.setUserId(TEST_USER_ID);
+        LocalDate originalDate = existingFood.getDate();
+
         Food updatedFood = createValidFood();
+        updatedFood.setDate(originalDate.minusDays(1));
+
+        when(foodRepository.findAndModifyOwned(eq("123"), eq(TEST_USER_ID), any(Update.class)))
+                .thenReturn(Optional.of(existingFood));
+
+        foodService.updateFood("123", updatedFood, TEST_USER_ID);
+
+        ArgumentCaptor<Food> before = ArgumentCaptor.forClass(Food.class);
+        ArgumentCaptor<Food> after = ArgumentCaptor.forClass(Food.class);
+        verify(dailySummaryService).recordUpdated(before.capture(), after.capture());
+        assertEquals(originalDate, before.getValue().getDate());
+        assertEquals(originalDate.minusDays(1), after.getValue().getDate());
+    }
+
+    @Test
+    void updateFood_IfMatchVersion() {
+        Food existingFood = createValidFood();
+        existingFood.setId("123");
+        existingFood.setUserId(TEST_USER_ID);
+        existingFood.setVersion(4L);
+
+        when(foodRepository.findAndModifyOwned(eq("123"), eq(TEST_USER_ID), any(Criteria.class), any(Update.class)))
+                .thenReturn(Optional.of(existingFood));
+
+        Food result = foodService.updateFood("123", createValidFood(), TEST_USER_ID, List.of(4L));
+
+        assertEquals(5L, result.getVersion());
+        ArgumentCaptor<Criteria> condition = ArgumentCaptor.forClass(Criteria.class);
+        verify(foodRepository).findAndModifyOwned(eq("123"), eq(TEST_USER_ID), condition.capture(), any(Update.class));
+        assertEquals(List.of(4L), condition.getValue().getCriteriaObject().get("version", Document.class).get("$in"));
+    }
+
+    @Test
+    void updateFood_IfMatchZeroMatchesUnversionedEntries() {
+        Food existingFood = createValidFood();
+        existingFood.setId("123");
+        existingFood.setUserId(TEST_USER_ID);
+
+        when(foodRepository.findAndModifyOwned(eq("123"), eq(TEST_USER_ID), any(Criteria.class), any(Update.class)))
+                .thenReturn(Optional.of(existingFood));
+
+        Food result = foodService.updateFood("123", createValidFood(), TEST_USER_ID, List.of(0L));
+
+        assertEquals(1L, result.getVersion());
+        ArgumentCaptor<Criteria> condition = ArgumentCaptor.forClass(Criteria.class);
+        verify(foodRepository).findAndModifyOwned(eq("123"), eq(TEST_USER_ID), condition.capture(), any(Update.class));
+        assertEquals(Arrays.asList(0L, null), condition.getValue().getCriteriaObject().get("version", Document.class).get("$in"));
+    }
+
+    @Test
+    void updateFood_VersionMismatch() {
+        Food storedFood = createValidFood();
+        storedFood.setId("123");
+        storedFood.setUserId(TEST_USER_ID);
+        storedFood.setVersion(5L);
+
+        when(foodRepository.findAndModifyOwned(eq("123"), eq(TEST_USER_ID), any(Criteria.class), any(Update.class)))
+                .thenReturn(Optional.empty());
+        when(foodRepository.findById("123")).thenReturn(Optional.of(storedFood));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.updateFood("123", createValidFood(), TEST_USER_ID, List.of(4L)));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatusCode());
+        assertEquals("Meal has been modified", exception.getReason());
+        verifyNoInteractions(dailySummaryService, foodVersionService);
+    }
+
+    @Test
+    void updateFood_IfMatchOnMissingEntry() {
+        when(foodRepository.findAndModifyOwned(eq("123"), eq(TEST_USER_ID), any(Criteria.class), any(Update.class)))
+                .thenReturn(Optional.empty());
         when(foodRepository.findById("123")).thenReturn(Optional.empty());
 
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> foodService.updateFood("123", createValidFood(), TEST_USER_ID, List.of(4L)));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    void updateFood_NotFound() {
+        Food updatedFood = createValidFood();
+        when(foodRepository.findAndModifyOwned(eq("123"), eq(TEST_USER_ID), any(Update.class)))
+                .thenReturn(Optional.empty());
+        when(foodRepository.existsById("123")).thenReturn(false);
+
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> foodService.updateFood("123", updatedFood, TEST_USER_ID));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
         assertEquals("Meal not found", exception.getReason());
-        verify(foodRepository, never()).save(any(Food.class));
+        verifyNoInteractions(dailySummaryService, foodVersionService);
     }
 
     @Test
     void updateFood_WrongUser() {
-        Food existingFood = createValidFood();
-        existingFood.setId("123");
-        existingFood.setUserId("different-user");
-
         Food updatedFood = createValidFood();
-        when(foodRepository.findById("123")).thenReturn(Optional.of(existingFood));
+        when(foodRepository.findAndModifyOwned(eq("123"), eq(TEST_USER_ID), any(Update.class)))
+                .thenReturn(Optional.empty());
+        when(foodRepository.existsById("123")).thenReturn(true);
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> foodService.updateFood("123", updatedFood, TEST_USER_ID));
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatusCode());
         assertEquals("Access denied", exception.getReason());
-        verify(foodRepository, never()).save(any(Food.class));
+        verifyNoInteractions(dailySummaryService);
     }
 
     @Test
@@ -88,8 +210,7 @@ class UpdateFoodServiceTest {
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> foodService.updateFood("123", updatedFood, TEST_USER_ID));
         assertEquals("Name is required", exception.getReason());
-        verify(foodRepository, never()).findById(any());
-        verify(foodRepository, never()).save(any(Food.class));
+        verifyNoInteractions(foodRepository);
     }
 
     @Test
@@ -100,8 +221,7 @@ class UpdateFoodServiceTest {
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> foodService.updateFood("123", updatedFood, TEST_USER_ID));
         assertEquals("Nutritional values cannot be negative", exception.getReason());
-        verify(foodRepository, never()).findById(any());
-        verify(foodRepository, never()).save(any(Food.class));
+        verifyNoInteractions(foodRepository);
     }
 
     private Food createValidFood() {